@@ -1,5 +1,6 @@
 package com.crmsystem.apigateway.config;
 
+import com.crmsystem.apigateway.loadbalancer.CustomerServiceLoadBalancerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
@@ -8,6 +9,7 @@ import org.springframework.cloud.client.circuitbreaker.Customizer;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +18,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 
 @Configuration
+@LoadBalancerClient(name = "customer-service", configuration = CustomerServiceLoadBalancerConfig.class)
 public class GatewayConfig {
 
     @Bean
@@ -35,7 +38,23 @@ public class GatewayConfig {
                                         .setBackoff(Duration.ofMillis(100), Duration.ofMillis(1000), 2, true)))
                         .uri("lb://auth-service"))
                         
-                // Customer Service Route
+                // Customer streaming reads: long-lived NDJSON responses, so no circuit breaker (its time limiter
+                // would cut streams at 5s) and no retry of a partially written body. Ordered ahead of the
+                // customer-service route, which also matches these paths.
+                .route("customer-service-stream", r -> r
+                        .order(-1)
+                        .path("/api/customers/stream", "/api/customers/stream/**")
+                        .uri("lb://customer-service"))
+                        
+                // Customer bulk operations run for as long as their row count needs; a retry after the 5s
+                // time limiter would start the same operation again
+                .route("customer-service-bulk", r -> r
+                        .order(-1)
+                        .path("/api/customers/bulk/**")
+                        .uri("lb://customer-service"))
+                        
+                // Customer Service Route. Responses keep their Content-Type (JSON, CBOR or Smile) and
+                // Content-Encoding: no filter here reads or rewrites bodies.
                 .route("customer-service", r -> r
                         .path("/api/customers/**")
                         .filters(f -> f
@@ -0,0 +1,39 @@
+package com.crmsystem.apigateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Replica-to-replica endpoints live under /internal/** and must not be reachable through the gateway. No route
+// matches them, but a routed path with dot segments (/api/customers/../../internal/..., also as "..;") would be
+// normalized into one by the service behind it, so the path is checked the way the service will see it.
+@Component
+@Slf4j
+public class InternalPathFilter implements GlobalFilter, Ordered {
+
+    private static final String INTERNAL_PREFIX = "/internal";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // Decoded path, without ;path-parameters (which servlet containers ignore), with dot segments resolved
+        String path = StringUtils.cleanPath(exchange.getRequest().getURI().getPath().replaceAll(";[^/]*", ""));
+        if (path.equals(INTERNAL_PREFIX) || path.startsWith(INTERNAL_PREFIX + "/")) {
+            log.warn("Refused request for internal path {}", exchange.getRequest().getURI().getRawPath());
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of LoggingFilter, so refused requests are never forwarded
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+} 
\ No newline at end of file
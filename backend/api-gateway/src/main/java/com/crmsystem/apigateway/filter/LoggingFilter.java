@@ -9,16 +9,43 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @Slf4j
 public class LoggingFilter implements GlobalFilter, Ordered {
 
+    // W3C trace context: version-traceId-parentSpanId-flags
+    private static final String TRACEPARENT = "traceparent";
+    private static final String TRACE_ID_HEADER = "X-Trace-Id";
+    private static final Pattern TRACEPARENT_PATTERN =
+            Pattern.compile("^00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})$");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-        String requestId = UUID.randomUUID().toString();
+        // Continue the caller's trace if it sent one, otherwise start a new one. The trace id doubles as the
+        // request id, and downstream services pick it up from the forwarded traceparent header.
+        String traceId = null;
+        String flags = "01";
+        Matcher incoming = TRACEPARENT_PATTERN.matcher(
+                String.valueOf(exchange.getRequest().getHeaders().getFirst(TRACEPARENT)));
+        if (incoming.matches() && !INVALID_TRACE_ID.equals(incoming.group(1))) {
+            traceId = incoming.group(1);
+            flags = incoming.group(3);
+        }
+        if (traceId == null) {
+            traceId = randomHex(2);
+        }
+        String requestId = traceId;
+        String traceparent = "00-" + traceId + "-" + randomHex(1) + "-" + flags;
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(TRACEPARENT, traceparent))
+                .build();
+        exchange.getResponse().getHeaders().set(TRACE_ID_HEADER, traceId);
         
         log.info("Request ID: {} | Method: {} | Path: {} | Source IP: {}",
                 requestId,
@@ -29,7 +56,7 @@ public class LoggingFilter implements GlobalFilter, Ordered {
         
         long startTime = System.currentTimeMillis();
         
-        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+        return chain.filter(exchange.mutate().request(request).build()).then(Mono.fromRunnable(() -> {
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
             
@@ -41,6 +68,14 @@ public class LoggingFilter implements GlobalFilter, Ordered {
         }));
     }
 
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            hex.append(String.format("%016x", ThreadLocalRandom.current().nextLong()));
+        }
+        return hex.toString();
+    }
+
     @Override
     public int getOrder() {
         // Set a high precedence
@@ -0,0 +1,25 @@
+package com.crmsystem.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+// Load balancer configuration for lb://customer-service only (see @LoadBalancerClient on GatewayConfig), so it
+// is deliberately not a @Configuration: scanned, it would apply to every service. customer-service instances
+// warm up before turning UP in Eureka, but their caches and the database's buffers are still cold, so they are
+// ramped in rather than given a full share at once.
+public class CustomerServiceLoadBalancerConfig {
+
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(
+            ConfigurableApplicationContext context,
+            @Value("${app.loadbalancer.slow-start.window-ms:60000}") long windowMs,
+            @Value("${app.loadbalancer.slow-start.min-weight:0.1}") double minWeight) {
+        ServiceInstanceListSupplier discovered = ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .build(context);
+        return new SlowStartServiceInstanceListSupplier(discovered, windowMs, minWeight);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.crmsystem.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ramps traffic to instances that joined after this gateway started: for window-ms after it is first seen,
+// an instance is offered to the round robin with a probability growing linearly from min-weight to 1, so it
+// gets that fraction of its full share. Instances already there at startup are not ramped, and when the
+// draw leaves nothing the full list is used.
+public class SlowStartServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final long windowMs;
+    private final double minWeight;
+    private final Map<String, Long> firstSeen = new ConcurrentHashMap<>();
+    private volatile boolean initialized;
+
+    public SlowStartServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, long windowMs, double minWeight) {
+        super(delegate);
+        this.windowMs = windowMs;
+        this.minWeight = minWeight;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(this::ramp);
+    }
+
+    private List<ServiceInstance> ramp(List<ServiceInstance> instances) {
+        if (windowMs <= 0 || instances.isEmpty()) {
+            return instances;
+        }
+        long now = System.currentTimeMillis();
+        // Established instances count as seen long ago
+        long seenAt = initialized ? now : 0;
+        initialized = true;
+        if (firstSeen.size() > instances.size()) {
+            Set<String> present = new HashSet<>();
+            instances.forEach(instance -> present.add(key(instance)));
+            firstSeen.keySet().retainAll(present);
+        }
+        List<ServiceInstance> offered = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            long age = now - firstSeen.computeIfAbsent(key(instance), key -> seenAt);
+            double weight = Math.max(minWeight, (double) age / windowMs);
+            if (weight >= 1 || ThreadLocalRandom.current().nextDouble() < weight) {
+                offered.add(instance);
+            }
+        }
+        return offered.isEmpty() ? instances : offered;
+    }
+
+    // Instance ids are not set by every discovery client
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.crmsystem.auth.datasource;
+
+import com.crmsystem.common.datasource.HotQueries;
+import com.crmsystem.common.datasource.QueryPlanVerifier.HotQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hot repository queries and the index each one needs, checked at startup by QueryPlanVerifier
+@Component
+public class AuthHotQueries implements HotQueries {
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            // findByUsername fetches the roles in the same query (entity graph)
+            new HotQuery("UserRepository.findByUsername", "users", "username",
+                    "SELECT u.*, r.* FROM users u LEFT JOIN user_roles ur ON ur.user_id = u.id "
+                            + "LEFT JOIN roles r ON r.id = ur.role_id WHERE u.username = ?", "probe"),
+            new HotQuery("UserRepository.findByEmail", "users", "email",
+                    "SELECT * FROM users WHERE email = ?", "probe@example.com"),
+            new HotQuery("UserRepository.existsByUsername", "users", "username",
+                    "SELECT id FROM users WHERE username = ? LIMIT 1", "probe"),
+            new HotQuery("UserRepository.existsByEmail", "users", "email",
+                    "SELECT id FROM users WHERE email = ? LIMIT 1", "probe@example.com"),
+            new HotQuery("user_roles by user", "user_roles", "user_id",
+                    "SELECT role_id FROM user_roles WHERE user_id = ?", 1L),
+            new HotQuery("RoleRepository.findByName", "roles", "name",
+                    "SELECT * FROM roles WHERE name = ?", "ROLE_USER"));
+
+    @Override
+    public List<HotQuery> queries() {
+        return HOT_QUERIES;
+    }
+} 
\ No newline at end of file
@@ -4,7 +4,7 @@ import lombok.Data;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", indexes = @Index(name = "idx_roles_name", columnList = "name"))
 @Data
 // @NoArgsConstructor -- not working properly
 public class Role {
@@ -1,6 +1,7 @@
 package com.crmsystem.auth.repository;
 
 import com.crmsystem.auth.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,8 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Roles are always needed after a username lookup; fetch them in the same query instead of a second one
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
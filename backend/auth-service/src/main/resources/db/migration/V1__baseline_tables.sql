@@ -0,0 +1,26 @@
+-- Tables as ddl-auto=update used to create them. IF NOT EXISTS keeps this a no-op on databases that
+-- predate the migrations (baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS roles (
+    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(20),
+    email VARCHAR(50),
+    password VARCHAR(120),
+    full_name VARCHAR(100),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- The primary key serves findByUsername's role fetch (user_id first); role_id is indexed for the foreign key
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id INT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
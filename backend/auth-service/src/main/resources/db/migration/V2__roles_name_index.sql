@@ -0,0 +1,2 @@
+-- RoleRepository.findByName runs on every registration; ddl-auto never indexed it
+CREATE INDEX idx_roles_name ON roles (name);
@@ -0,0 +1,61 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.archive.CustomerArchive;
+import com.crmsystem.customer.cache.CustomerChangeCounter;
+import com.crmsystem.customer.cache.EmailExistenceFilter;
+import com.crmsystem.customer.config.CacheConfig;
+import com.crmsystem.customer.config.EmailFilterConfig;
+import com.crmsystem.customer.event.CustomerEventOutbox;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.mapper.CustomerMergePatcher;
+import com.crmsystem.customer.service.impl.BulkChunkRunner;
+import com.crmsystem.customer.service.impl.CustomerQueryPlanner;
+import com.crmsystem.customer.service.impl.CustomerServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Just the persistence, service and cache slice of customer-service on an in-memory H2 database
+@Configuration
+@EnableAutoConfiguration(excludeName = {
+        "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+        "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+        "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration"
+})
+@EntityScan("com.crmsystem.customer.model")
+@EnableJpaRepositories("com.crmsystem.customer.repository")
+@Import({CustomerServiceImpl.class, CustomerMapper.class, CustomerEventOutbox.class, CacheConfig.class,
+        EmailExistenceFilter.class, EmailFilterConfig.class, CustomerMergePatcher.class, BulkChunkRunner.class,
+        CustomerArchive.class, CustomerQueryPlanner.class, CustomerChangeCounter.class})
+public class BenchmarkApplication {
+
+    static ConfigurableApplicationContext start(String databaseName, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        // Hibernate builds the schema from the entities; no migrations or plan checks on a throwaway database
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("app.schema.plan-check.mode", "off");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.cloud.discovery.enabled", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.crmsystem", "WARN");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.crmsystem.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// Runs the suites with the usual JMH command line and always writes a JSON result file named after
+// the build label, so runs from different releases can be compared with BenchmarkComparison.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com.crmsystem.benchmarks.*");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File resultsDir = new File(System.getProperty("benchmark.results.dir", "target/jmh-results"));
+            resultsDir.mkdirs();
+            String label = System.getProperty("benchmark.label", "local");
+            options.resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultsDir, "jmh-" + label + ".json").getPath());
+        }
+
+        new Runner(options.build()).run();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// createCustomers with JDBC batching off (batchSize=0, one INSERT per row as with IDENTITY keys)
+// versus on (pooled ids let Hibernate group inserts)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerBatchInsertBenchmark {
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    @Param({"500"})
+    public int customersPerCall;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private final Random random = new Random(42);
+    private List<CustomerDTO> nextBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("batch" + batchSize, Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", String.valueOf(batchSize),
+                "spring.jpa.properties.hibernate.order_inserts", "true",
+                "spring.jpa.properties.crm.customer.id.block-size", "50"));
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        nextBatch = CustomerFixtures.newCustomerDTOs(customersPerCall, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerDTO> createCustomers() {
+        return customerService.createCustomers(nextBatch);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the cached service paths: proxy, key generation and cache lookup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CustomerCacheBenchmark {
+
+    private static final int HOT_KEYS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("cache", Map.of());
+        CustomerFixtures.seed(context.getBean(JdbcTemplate.class), HOT_KEYS);
+        customerService = context.getBean(CustomerService.class);
+        for (long id = 1; id <= HOT_KEYS; id++) {
+            customerService.getCustomerById(id);
+        }
+        customerService.getCustomerStatusCounts();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDTO getCustomerByIdHit() {
+        return customerService.getCustomerById(ThreadLocalRandom.current().nextLong(1, HOT_KEYS + 1L));
+    }
+
+    @Benchmark
+    public Map<CustomerStatus, Long> getCustomerStatusCountsHit() {
+        return customerService.getCustomerStatusCounts();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.model.Customer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic customers shared by all suites
+final class CustomerFixtures {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Maria", "Ahmed", "Wei", "Olga", "Carlos", "Priya"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Garcia", "Chen", "Ivanova", "Khan", "Brown", "Patel"};
+    private static final String[] COMPANIES = {"Acme Inc.", "Globex", "Initech", "Umbrella Corp", "Hooli", "Stark Ltd"};
+    private static final CustomerStatus[] STATUSES = CustomerStatus.values();
+
+    private CustomerFixtures() {
+    }
+
+    static Customer customer(long i) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i);
+        return Customer.builder()
+                .id(i)
+                .firstName(FIRST_NAMES[(int) (i % FIRST_NAMES.length)])
+                .lastName(LAST_NAMES[(int) ((i / FIRST_NAMES.length) % LAST_NAMES.length)] + i)
+                .email("customer" + i + "@example.com")
+                .phone("+1 555 " + String.format("%07d", i % 10_000_000))
+                .company(COMPANIES[(int) (i % COMPANIES.length)])
+                .status(STATUSES[(int) (i % STATUSES.length)])
+                .notes("Synthetic benchmark customer number " + i)
+                .createdAt(now)
+                .updatedAt(now)
+                .assignedUserId(i % 200)
+                .build();
+    }
+
+    static CustomerDTO customerDTO(long i) {
+        Customer customer = customer(i);
+        return CustomerDTO.builder()
+                .id(customer.getId())
+                .firstName(customer.getFirstName())
+                .lastName(customer.getLastName())
+                .email(customer.getEmail())
+                .phone(customer.getPhone())
+                .company(customer.getCompany())
+                .status(customer.getStatus())
+                .notes(customer.getNotes())
+                .createdAt(customer.getCreatedAt())
+                .updatedAt(customer.getUpdatedAt())
+                .assignedUserId(customer.getAssignedUserId())
+                .build();
+    }
+
+    static List<CustomerDTO> newCustomerDTOs(int count, Random random) {
+        List<CustomerDTO> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CustomerDTO dto = customerDTO(random.nextInt(1_000_000));
+            dto.setId(null);
+            dto.setEmail("new" + System.nanoTime() + "-" + i + "@example.com");
+            customers.add(dto);
+        }
+        return customers;
+    }
+
+    // Bulk load straight through JDBC; going through JPA would dominate setup time for a million rows
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        int chunk = 10_000;
+        for (int start = 1; start <= rows; start += chunk) {
+            List<Object[]> batch = new ArrayList<>(chunk);
+            for (long i = start; i < start + chunk && i <= rows; i++) {
+                Customer c = customer(i);
+                batch.add(new Object[]{c.getId(), c.getFirstName(), c.getLastName(), c.getEmail(), c.getPhone(),
+                        c.getCompany(), c.getStatus().name(), c.getNotes(), Timestamp.valueOf(c.getCreatedAt()),
+                        Timestamp.valueOf(c.getUpdatedAt()), c.getAssignedUserId()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO customers (id, first_name, last_name, email, phone, company, status, "
+                    + "notes, created_at, updated_at, assigned_user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        }
+        // Keep the pooled id allocator clear of the seeded ids
+        jdbcTemplate.update("UPDATE customer_seq SET next_val = ?", rows + 1L);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerJsonBenchmark {
+
+    private static final TypeReference<List<CustomerDTO>> DTO_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    // Configured the same way Spring Boot configures the MVC ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private CustomerDTO customer;
+    private byte[] customerJson;
+    private Page<CustomerDTO> page;
+    private byte[] pageContentJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        customer = CustomerFixtures.customerDTO(42);
+        customerJson = objectMapper.writeValueAsBytes(customer);
+
+        List<CustomerDTO> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(CustomerFixtures.customerDTO(i));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000_000);
+        pageContentJson = objectMapper.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public byte[] serializeCustomer() throws IOException {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public CustomerDTO deserializeCustomer() throws IOException {
+        return objectMapper.readValue(customerJson, CustomerDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    // PageImpl has no creator, so clients read the content array of a page
+    @Benchmark
+    public List<CustomerDTO> deserializePageContent() throws IOException {
+        return objectMapper.readValue(pageContentJson, DTO_LIST);
+    }
+} 
\ No newline at end of file
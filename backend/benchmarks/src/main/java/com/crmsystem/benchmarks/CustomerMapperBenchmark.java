@@ -0,0 +1,56 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.model.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private final CustomerMapper mapper = new CustomerMapper();
+    private Customer customer;
+    private CustomerDTO customerDTO;
+    private List<Customer> page;
+
+    @Setup
+    public void setUp() {
+        customer = CustomerFixtures.customer(42);
+        customerDTO = CustomerFixtures.customerDTO(43);
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(CustomerFixtures.customer(i));
+        }
+    }
+
+    @Benchmark
+    public CustomerDTO toDTO() {
+        return mapper.toDTO(customer);
+    }
+
+    @Benchmark
+    public Customer toEntity() {
+        return mapper.toEntity(customerDTO);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> toDTOListOfPage() {
+        return mapper.toDTOList(page);
+    }
+
+    @Benchmark
+    public Customer updateEntityFromDTO() {
+        Customer target = CustomerFixtures.customer(7);
+        mapper.updateEntityFromDTO(customerDTO, target);
+        return target;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.model.Customer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.repository.CustomerRepository;
+import com.crmsystem.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CustomerRepositoryBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("repository", Map.of());
+        CustomerFixtures.seed(context.getBean(JdbcTemplate.class), rows);
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> findById() {
+        return customerRepository.findById(ThreadLocalRandom.current().nextLong(1, rows + 1L));
+    }
+
+    @Benchmark
+    public Page<Customer> findAllFirstPageSortedByLastName() {
+        return customerRepository.findAll(PageRequest.of(0, 10, Sort.by("lastName")));
+    }
+
+    @Benchmark
+    public Page<Customer> findByAssignedUserId() {
+        return customerRepository.findByAssignedUserId(ThreadLocalRandom.current().nextLong(200), PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Page<Customer> searchCustomers() {
+        return customerRepository.searchCustomers("acme", PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Long countByStatus() {
+        return customerRepository.countByStatus(CustomerStatus.LEAD);
+    }
+
+    @Benchmark
+    public Optional<Customer> findByEmail() {
+        return customerRepository.findByEmail("customer" + ThreadLocalRandom.current().nextInt(1, rows + 1) + "@example.com");
+    }
+
+    // Full uncached path: all status counts straight from the database
+    @Benchmark
+    public Map<CustomerStatus, Long> statusCountsUncached() {
+        context.getBean(org.springframework.cache.CacheManager.class).getCache("customerStatusCache").clear();
+        return customerService.getCustomerStatusCounts();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.crmsystem.benchmarks;
+
+import com.crmsystem.customer.compression.GzipEncoder;
+import com.crmsystem.customer.compression.GzipEncoderPool;
+import com.crmsystem.customer.config.BinaryContentConfig;
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+// Time per response body (the CPU a request spends on encoding) for each wire format, with and without
+// the pooled gzip encoder the service uses. Bytes on the wire are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerWireFormatBenchmark {
+
+    private static final TypeReference<List<CustomerDTO>> DTO_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private final GzipEncoderPool gzipEncoderPool = new GzipEncoderPool(Deflater.DEFAULT_COMPRESSION, 8192, 4);
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private Page<CustomerDTO> page;
+    private byte[] pageContentBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same mappers the service's message converters use
+        objectMapper = switch (format) {
+            case "cbor" -> BinaryContentConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+            case "smile" -> BinaryContentConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        gzip = "gzip".equals(encoding);
+
+        List<CustomerDTO> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(CustomerFixtures.customerDTO(i));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000_000);
+        pageContentBody = encode(content, new ByteArrayOutputStream()).toByteArray();
+
+        int pageBytes = encode(page, new ByteArrayOutputStream()).size();
+        System.out.printf("%n%s/%s, %d customers: %d bytes per page (%.0f per customer)%n",
+                format, encoding, pageSize, pageBytes, (double) pageBytes / pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gzipEncoderPool.close();
+    }
+
+    @Benchmark
+    public int writePage() throws IOException {
+        return encode(page, new ByteArrayOutputStream(16 * 1024)).size();
+    }
+
+    // PageImpl has no creator, so clients read the content array of a page
+    @Benchmark
+    public List<CustomerDTO> readPageContent() throws IOException {
+        InputStream body = new ByteArrayInputStream(pageContentBody);
+        if (gzip) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        return objectMapper.readValue(body, DTO_LIST);
+    }
+
+    private ByteArrayOutputStream encode(Object value, ByteArrayOutputStream out) throws IOException {
+        if (!gzip) {
+            objectMapper.writeValue(out, value);
+            return out;
+        }
+        GzipEncoder encoder = gzipEncoderPool.borrow();
+        try (OutputStream compressed = encoder.compressTo(out)) {
+            objectMapper.writeValue(compressed, value);
+        } finally {
+            gzipEncoderPool.release(encoder);
+        }
+        return out;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.crmsystem.common.config;
+
+import com.crmsystem.common.datasource.StatementBudgetFilter;
+import com.crmsystem.common.datasource.StatementMonitoringListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({ProxyDataSourceBuilder.class, MeterRegistry.class})
+@ConditionalOnProperty(name = "app.jdbc.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcMonitoringConfig {
+
+    @Bean
+    public StatementMonitoringListener statementMonitoringListener(
+            MeterRegistry meterRegistry,
+            @Value("${app.jdbc.slow-query-threshold-ms:200}") long slowThresholdMs,
+            @Value("${app.jdbc.statement-budget.max-per-request:20}") int requestBudget,
+            @Value("${app.jdbc.statement-budget.fail:false}") boolean failOnBudgetExceeded,
+            @Value("${app.jdbc.max-query-shapes:500}") int maxShapes) {
+        return new StatementMonitoringListener(meterRegistry, slowThresholdMs, requestBudget, failOnBudgetExceeded, maxShapes);
+    }
+
+    // Wraps only the application DataSource (the bean named dataSource); where that is a routing proxy over
+    // several pools, as with customer-service's read replicas, statements are seen once whichever pool serves them
+    @Bean
+    public static BeanPostProcessor statementMonitoringDataSourcePostProcessor(
+            ObjectProvider<StatementMonitoringListener> listener,
+            @Value("${spring.application.name:app}") String applicationName) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return listener.getObject().proxy(dataSource, applicationName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(StatementMonitoringListener listener,
+                                                                               MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(listener, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+} 
\ No newline at end of file
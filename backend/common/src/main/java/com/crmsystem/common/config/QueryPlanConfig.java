@@ -0,0 +1,27 @@
+package com.crmsystem.common.config;
+
+import com.crmsystem.common.datasource.HotQueries;
+import com.crmsystem.common.datasource.QueryPlanVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnBean({JdbcTemplate.class, HotQueries.class})
+@ConditionalOnExpression("'${app.schema.plan-check.mode:fail}' != 'off'")
+public class QueryPlanConfig {
+
+    @Bean
+    public QueryPlanVerifier queryPlanVerifier(JdbcTemplate jdbcTemplate,
+                                               HotQueries hotQueries,
+                                               @Value("${app.schema.plan-check.mode:fail}") String mode,
+                                               @Value("${app.schema.plan-check.min-rows:10000}") long minRows) {
+        return new QueryPlanVerifier(jdbcTemplate, hotQueries.queries(), mode, minRows);
+    }
+} 
\ No newline at end of file
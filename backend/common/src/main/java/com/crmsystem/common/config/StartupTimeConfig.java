@@ -0,0 +1,50 @@
+package com.crmsystem.common.config;
+
+import com.crmsystem.common.metrics.ReactiveStartupTimeFilter;
+import com.crmsystem.common.metrics.StartupTimeFilter;
+import com.crmsystem.common.metrics.StartupTimeReporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnWebApplication
+public class StartupTimeConfig {
+
+    @Bean
+    public StartupTimeReporter startupTimeReporter(ConfigurableApplicationContext context, MeterRegistry meterRegistry,
+                                                   @Value("${app.startup.exit-after-ready:false}") boolean exitAfterReady) {
+        return new StartupTimeReporter(context, meterRegistry, exitAfterReady);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet {
+
+        @Bean
+        public FilterRegistrationBean<StartupTimeFilter> startupTimeFilter(StartupTimeReporter reporter) {
+            FilterRegistrationBean<StartupTimeFilter> registration =
+                    new FilterRegistrationBean<>(new StartupTimeFilter(reporter));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        @Bean
+        public ReactiveStartupTimeFilter reactiveStartupTimeFilter(StartupTimeReporter reporter) {
+            return new ReactiveStartupTimeFilter(reporter);
+        }
+    }
+} 
\ No newline at end of file
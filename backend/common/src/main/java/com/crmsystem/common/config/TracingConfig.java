@@ -0,0 +1,49 @@
+package com.crmsystem.common.config;
+
+import brave.handler.SpanHandler;
+import com.crmsystem.common.tracing.JsonLinesSpanExporter;
+import com.crmsystem.common.tracing.TailSamplingSpanHandler;
+import com.crmsystem.common.tracing.TracingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+
+// W3C trace context from the gateway is picked up by Micrometer Tracing (Brave); this adds layer spans
+// and keeps only slow or failed traces in a local JSON-lines file, named after spring.application.name and kept
+// under java.io.tmpdir unless app.tracing.export.file says otherwise, so runs from a checkout don't write into it
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({Tracer.class, SpanHandler.class, Aspect.class})
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean(destroyMethod = "close")
+    public JsonLinesSpanExporter jsonLinesSpanExporter(
+            @Value("${app.tracing.export.file:${java.io.tmpdir}/crm-traces/traces-${spring.application.name:app}.jsonl}") String file,
+            @Value("${app.tracing.export.queue-capacity:1000}") int queueCapacity) {
+        return new JsonLinesSpanExporter(Path.of(file), queueCapacity);
+    }
+
+    @Bean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(
+            JsonLinesSpanExporter exporter,
+            MeterRegistry meterRegistry,
+            @Value("${app.tracing.tail.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${app.tracing.tail.baseline-ratio:0.01}") double baselineRatio,
+            @Value("${app.tracing.tail.max-buffered-traces:10000}") int maxBufferedTraces) {
+        return new TailSamplingSpanHandler(exporter, slowThresholdMs, baselineRatio, maxBufferedTraces, meterRegistry);
+    }
+} 
\ No newline at end of file
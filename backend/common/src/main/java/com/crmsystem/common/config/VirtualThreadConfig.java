@@ -0,0 +1,69 @@
+package com.crmsystem.common.config;
+
+import com.crmsystem.common.datasource.DatabaseConcurrencyLimitFilter;
+import com.crmsystem.common.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Opt-in: run Tomcat request handling on virtual threads (needs Java 21, build with -Pjava21), so blocking
+// work such as JDBC or BCrypt no longer holds a platform worker.
+// Looked up reflectively so the default Java 17 build still compiles.
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({Tomcat.class, MeterRegistry.class})
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DatabaseConcurrencyLimitFilter> databaseConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.threads.virtual.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${app.threads.virtual.permit-timeout-ms:1000}") long permitTimeoutMs) {
+        // Default: twice the pool, so requests spending part of their time outside the DB keep it busy
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize * 2;
+        FilterRegistrationBean<DatabaseConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseConcurrencyLimitFilter(limit, permitTimeoutMs, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.threads.virtual.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.virtual.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual.enabled=true requires Java 21, running on "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.crmsystem.common.datasource;
+
+import com.crmsystem.common.datasource.QueryPlanVerifier.HotQuery;
+
+import java.util.List;
+
+// A service's hot repository queries; QueryPlanVerifier only runs in services that declare this bean
+public interface HotQueries {
+
+    List<HotQuery> queries();
+} 
\ No newline at end of file
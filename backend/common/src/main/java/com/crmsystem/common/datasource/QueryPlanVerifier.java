@@ -0,0 +1,92 @@
+package com.crmsystem.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Startup check that every hot repository query still has an index to use. Two parts:
+//  - on any database, the index each query relies on must exist (leading column, from JDBC metadata);
+//  - on MySQL, EXPLAIN must not show a full table scan over min-rows or more estimated rows. Smaller tables
+//    are skipped, since a scan is the right plan for them.
+// With mode=fail a regression stops the application; with mode=warn it is only logged.
+// The queries come from the service's HotQueries bean; QueryPlanConfig wires it up.
+@Slf4j
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    public record HotQuery(String name, String table, String leadingColumn, String sql, Object... args) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<HotQuery> hotQueries;
+    private final boolean failOnRegression;
+    private final long minRows;
+
+    public QueryPlanVerifier(JdbcTemplate jdbcTemplate, List<HotQuery> hotQueries, String mode, long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotQueries = hotQueries;
+        this.failOnRegression = mode.equalsIgnoreCase("fail");
+        this.minRows = minRows;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> problems = new ArrayList<>();
+        boolean mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql"));
+
+        for (HotQuery query : hotQueries) {
+            if (!leadingIndexColumns(query.table()).contains(query.leadingColumn())) {
+                problems.add(query.name() + ": no index on " + query.table() + " starts with " + query.leadingColumn());
+            } else if (mysql) {
+                explain(query, problems);
+            }
+        }
+        if (problems.isEmpty()) {
+            log.info("Query plans verified for {} hot queries{}", hotQueries.size(), mysql ? "" : " (index check only)");
+            return;
+        }
+        String report = "Hot query plan regressions:\n  " + String.join("\n  ", problems);
+        if (failOnRegression) {
+            throw new IllegalStateException(report + "\nRun the schema migrations, or set app.schema.plan-check.mode=warn");
+        }
+        log.warn(report);
+    }
+
+    private void explain(HotQuery query, List<String> problems) {
+        for (Map<String, Object> step : jdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.args())) {
+            Object rows = step.get("rows");
+            if ("ALL".equals(step.get("type")) && rows instanceof Number estimate && estimate.longValue() >= minRows) {
+                problems.add(query.name() + ": full scan of " + step.get("table") + " (~" + estimate + " rows)");
+            }
+        }
+    }
+
+    private Set<String> leadingIndexColumns(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> columns = new HashSet<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted identifiers are stored lower case by MySQL and upper case by H2
+            for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+                    while (indexes.next()) {
+                        if (indexes.getShort("ORDINAL_POSITION") == 1 && indexes.getString("COLUMN_NAME") != null) {
+                            columns.add(indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            return columns;
+        });
+    }
+} 
\ No newline at end of file
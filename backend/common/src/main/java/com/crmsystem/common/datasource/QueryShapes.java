@@ -0,0 +1,53 @@
+package com.crmsystem.common.datasource;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Reduces SQL to its shape: literals become ?, IN lists collapse, whitespace is normalized.
+// Hibernate already binds parameters, so the number of distinct shapes stays small.
+final class QueryShapes {
+
+    private static final int MAX_CACHED = 2_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("(?i)\\bvalues\\s*(\\([^)]*\\))(?:\\s*,\\s*\\([^)]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private QueryShapes() {
+    }
+
+    static String shapeOf(String sql) {
+        String shape = CACHE.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.put(sql, shape);
+        }
+        return shape;
+    }
+
+    static String typeOf(String shape) {
+        int space = shape.indexOf(' ');
+        String keyword = (space > 0 ? shape.substring(0, space) : shape).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        shape = VALUES_LIST.matcher(shape).replaceAll("values $1...");
+        return shape;
+    }
+} 
\ No newline at end of file
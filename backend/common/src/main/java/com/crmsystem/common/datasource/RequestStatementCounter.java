@@ -0,0 +1,58 @@
+package com.crmsystem.common.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Statements run by the current HTTP request, per query shape. Bound by StatementBudgetFilter.
+public final class RequestStatementCounter {
+
+    private static final ThreadLocal<RequestStatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int total;
+    private boolean exempt;
+
+    private RequestStatementCounter() {
+    }
+
+    static RequestStatementCounter start() {
+        RequestStatementCounter counter = new RequestStatementCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static RequestStatementCounter current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // For endpoints whose statement count grows with their input by design (bulk operations); statements
+    // are still counted, but the budget is not enforced
+    public static void exemptCurrentRequest() {
+        RequestStatementCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.exempt = true;
+        }
+    }
+
+    boolean isExempt() {
+        return exempt;
+    }
+
+    int increment(String shape) {
+        shapes.merge(shape, 1, Integer::sum);
+        return ++total;
+    }
+
+    int total() {
+        return total;
+    }
+
+    // The shape run most often; a high count for one SELECT is the usual N+1 signature
+    Map.Entry<String, Integer> mostRepeated() {
+        return shapes.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+} 
\ No newline at end of file
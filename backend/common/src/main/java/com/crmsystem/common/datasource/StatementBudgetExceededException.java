@@ -0,0 +1,8 @@
+package com.crmsystem.common.datasource;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.crmsystem.common.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Counts JDBC statements per HTTP request and warns about requests over the statement budget (likely N+1).
+// With app.jdbc.statement-budget.fail=true the offending statement throws instead, which fails tests.
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final StatementMonitoringListener listener;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(StatementMonitoringListener listener, MeterRegistry meterRegistry) {
+        this.listener = listener;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestStatementCounter counter = RequestStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatementCounter.clear();
+            record(request, counter);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatementCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("JDBC statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.total());
+
+        if (!counter.isExempt() && counter.total() > listener.requestBudget()) {
+            Map.Entry<String, Integer> repeated = counter.mostRepeated();
+            log.warn("{} {} ran {} statements (budget {}); most repeated ({}x): {}",
+                    request.getMethod(), uri, counter.total(), listener.requestBudget(),
+                    repeated.getValue(), repeated.getKey());
+        }
+    }
+} 
\ No newline at end of file
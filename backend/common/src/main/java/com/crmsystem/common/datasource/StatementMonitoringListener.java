@@ -0,0 +1,119 @@
+package com.crmsystem.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// JDBC-level statement monitor: a timer per query shape, a WARN with bind-parameter shapes (types and
+// lengths, never values) for statements over the slow threshold, and per-request statement counting.
+// Replaces spring.jpa.show-sql, which logs every statement synchronously.
+@Slf4j
+public class StatementMonitoringListener implements QueryExecutionListener {
+
+    private static final String OTHER_SHAPE = "other";
+    private static final int MAX_SHAPE_TAG_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMs;
+    private final int requestBudget;
+    private final boolean failOnBudgetExceeded;
+    private final int maxShapes;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StatementMonitoringListener(MeterRegistry meterRegistry, long slowThresholdMs, int requestBudget,
+                                       boolean failOnBudgetExceeded, int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMs = slowThresholdMs;
+        this.requestBudget = requestBudget;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+        this.maxShapes = maxShapes;
+    }
+
+    public DataSource proxy(DataSource dataSource, String name) {
+        return ProxyDataSourceBuilder.create(name, dataSource).listener(this).build();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatementCounter counter = RequestStatementCounter.current();
+        if (counter == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            int total = counter.increment(QueryShapes.shapeOf(queryInfo.getQuery()));
+            if (failOnBudgetExceeded && !counter.isExempt() && total > requestBudget) {
+                Map.Entry<String, Integer> repeated = counter.mostRepeated();
+                throw new StatementBudgetExceededException("Request exceeded its budget of " + requestBudget
+                        + " statements; most repeated (" + repeated.getValue() + "x): " + repeated.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String shape = QueryShapes.shapeOf(queryInfo.getQuery());
+            // Statements of a batch share one execution, so split the time between them
+            timer(shape).record(elapsedMs / queryInfoList.size(), TimeUnit.MILLISECONDS);
+            if (elapsedMs >= slowThresholdMs) {
+                log.warn("Slow statement ({} ms{}{}): {} | parameters: {}",
+                        elapsedMs,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                        execInfo.isSuccess() ? "" : ", failed",
+                        shape,
+                        parameterShapes(queryInfo));
+            }
+        }
+    }
+
+    int requestBudget() {
+        return requestBudget;
+    }
+
+    private Timer timer(String shape) {
+        Timer timer = timers.get(shape);
+        if (timer != null) {
+            return timer;
+        }
+        // Keep the tag set bounded if something generates unbounded SQL
+        String tag = timers.size() < maxShapes ? shape : OTHER_SHAPE;
+        return timers.computeIfAbsent(tag, key -> Timer.builder("jdbc.statements")
+                .description("JDBC statement execution time per query shape")
+                .tag("shape", key.length() > MAX_SHAPE_TAG_LENGTH ? key.substring(0, MAX_SHAPE_TAG_LENGTH) : key)
+                .tag("type", QueryShapes.typeOf(key))
+                .register(meterRegistry));
+    }
+
+    private static String parameterShapes(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parametersList.isEmpty()) {
+            return "none";
+        }
+        // For batches the first row is representative
+        StringJoiner joiner = new StringJoiner(", ", "[", "]" + (parametersList.size() > 1 ? " x" + parametersList.size() : ""));
+        for (ParameterSetOperation operation : parametersList.get(0)) {
+            Object[] args = operation.getArgs();
+            if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+                joiner.add("null");
+            } else if (args[1] instanceof CharSequence text) {
+                joiner.add("String(" + text.length() + ")");
+            } else {
+                joiner.add(args[1].getClass().getSimpleName());
+            }
+        }
+        return joiner.toString();
+    }
+} 
\ No newline at end of file
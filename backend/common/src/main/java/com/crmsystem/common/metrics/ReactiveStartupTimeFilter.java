@@ -0,0 +1,29 @@
+package com.crmsystem.common.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// Reactive side of StartupTimeReporter, for the gateway
+@RequiredArgsConstructor
+public class ReactiveStartupTimeFilter implements WebFilter, Ordered {
+
+    private final StartupTimeReporter reporter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (reporter.firstRequestServed()) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).doFinally(signal -> reporter.requestServed(
+                exchange.getRequest().getMethod(), exchange.getRequest().getURI().getPath()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+} 
\ No newline at end of file
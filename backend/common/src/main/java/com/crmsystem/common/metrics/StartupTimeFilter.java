@@ -0,0 +1,34 @@
+package com.crmsystem.common.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Servlet side of StartupTimeReporter: times the first request, then steps aside
+@RequiredArgsConstructor
+public class StartupTimeFilter extends OncePerRequestFilter {
+
+    private final StartupTimeReporter reporter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return reporter.firstRequestServed();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            reporter.requestServed(request.getMethod(), request.getRequestURI());
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.crmsystem.common.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time from JVM start to ready and to the end of the first served request, the two numbers the fast-start
+// build (mvn -Pfast-start) is there to cut; the second also lands in application.first.request.time.
+// With app.startup.exit-after-ready the JVM exits once ready, which is how that build's training run
+// leaves its class-data sharing archive behind.
+// StartupTimeFilter (servlet) and ReactiveStartupTimeFilter (gateway) report the first request here.
+@Slf4j
+public class StartupTimeReporter {
+
+    private final ConfigurableApplicationContext context;
+    private final boolean exitAfterReady;
+    private final AtomicLong firstRequestMs = new AtomicLong(-1);
+
+    public StartupTimeReporter(ConfigurableApplicationContext context, MeterRegistry meterRegistry,
+                               boolean exitAfterReady) {
+        this.context = context;
+        this.exitAfterReady = exitAfterReady;
+        Gauge.builder("application.first.request.time", firstRequestMs, AtomicLong::get)
+                .description("Time from JVM start to the end of the first served request, -1 until then")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        log.info("Ready {} ms after JVM start (class-data sharing: {}, AOT: {})", uptime(),
+                System.getProperty("java.vm.info", "").contains("sharing"), AotDetector.useGeneratedArtifacts());
+        if (exitAfterReady) {
+            log.info("app.startup.exit-after-ready is set, exiting");
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    public boolean firstRequestServed() {
+        return firstRequestMs.get() >= 0;
+    }
+
+    public void requestServed(Object method, String path) {
+        long now = uptime();
+        if (firstRequestMs.compareAndSet(-1, now)) {
+            log.info("First request ({} {}) served {} ms after JVM start", method, path, now);
+        }
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.crmsystem.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Streams JFR jdk.VirtualThreadPinned events (a virtual thread blocked while holding a monitor or in native
+// code, which also blocks its carrier thread). Counts every event and logs each distinct stack once.
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 12;
+    private static final int MAX_REPORTED_STACKS = 500;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Counter pinnedCounter;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinnedCounter = meterRegistry.counter("jvm.threads.virtual.pinned");
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        String stack = event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.crmsystem.common.tracing;
+
+import brave.handler.MutableSpan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Appends kept traces to a local file, one Zipkin v2 JSON span per line, from a background thread.
+// Wrap the lines in [ ] to import them into Zipkin or Jaeger.
+@Slf4j
+public class JsonLinesSpanExporter implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<List<MutableSpan>> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Path file;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public JsonLinesSpanExporter(Path file, int queueCapacity) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::drain, "trace-exporter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void export(List<MutableSpan> trace) {
+        if (!queue.offer(trace)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long droppedTraces() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            log.warn("Cannot create trace directory for {}: {}", file, e.getMessage());
+        }
+        while (running || !queue.isEmpty()) {
+            try {
+                List<MutableSpan> trace = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (trace == null) {
+                    continue;
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    do {
+                        for (MutableSpan span : trace) {
+                            out.write(objectMapper.writeValueAsString(toZipkin(span)));
+                            out.newLine();
+                        }
+                    } while ((trace = queue.poll()) != null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.warn("Writing traces to {} failed: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Object> toZipkin(MutableSpan span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.traceId());
+        if (span.parentId() != null) {
+            json.put("parentId", span.parentId());
+        }
+        json.put("id", span.id());
+        if (span.kind() != null) {
+            json.put("kind", span.kind().name());
+        }
+        json.put("name", span.name());
+        json.put("timestamp", span.startTimestamp());
+        json.put("duration", Math.max(1, span.finishTimestamp() - span.startTimestamp()));
+        json.put("localEndpoint", Map.of("serviceName", String.valueOf(span.localServiceName())));
+        if (span.remoteServiceName() != null) {
+            json.put("remoteEndpoint", Map.of("serviceName", span.remoteServiceName()));
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        if (span.error() != null && !tags.containsKey("error")) {
+            tags.put("error", String.valueOf(span.error().getMessage()));
+        }
+        if (!tags.isEmpty()) {
+            json.put("tags", tags);
+        }
+        return json;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.crmsystem.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Tail-based sampling: every request is traced (head sampling at 100%), spans are buffered per local root,
+// and when the root span ends the whole trace is exported only if it was slow, failed, or falls in the
+// small baseline sample. Each service decides for its own part of a trace.
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private static final long STALE_BUFFER_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JsonLinesSpanExporter exporter;
+    private final long slowThresholdMicros;
+    private final double baselineRatio;
+    private final int maxBufferedTraces;
+    private final Map<Long, TraceBuffer> buffers = new ConcurrentHashMap<>();
+    private final Counter keptCounter;
+    private final Counter discardedCounter;
+    private final Counter overflowCounter;
+
+    public TailSamplingSpanHandler(JsonLinesSpanExporter exporter, long slowThresholdMs, double baselineRatio,
+                                   int maxBufferedTraces, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(slowThresholdMs);
+        this.baselineRatio = baselineRatio;
+        this.maxBufferedTraces = maxBufferedTraces;
+        this.keptCounter = meterRegistry.counter("tracing.tail.traces", "decision", "kept");
+        this.discardedCounter = meterRegistry.counter("tracing.tail.traces", "decision", "discarded");
+        this.overflowCounter = meterRegistry.counter("tracing.tail.traces", "decision", "overflow");
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        long rootId = context.localRootId();
+        if (context.isLocalRoot()) {
+            TraceBuffer trace = buffers.remove(rootId);
+            List<MutableSpan> spans = trace != null ? trace.snapshot() : new ArrayList<>();
+            spans.add(span);
+            if (shouldKeep(span, spans)) {
+                exporter.export(spans);
+                keptCounter.increment();
+            } else {
+                discardedCounter.increment();
+            }
+            return true;
+        }
+
+        TraceBuffer trace = buffers.get(rootId);
+        if (trace == null) {
+            if (buffers.size() >= maxBufferedTraces) {
+                // Children of roots that never finish (or finished before them) would otherwise pile up
+                long cutoff = System.nanoTime() - STALE_BUFFER_NANOS;
+                buffers.values().removeIf(buffer -> buffer.created < cutoff);
+                if (buffers.size() >= maxBufferedTraces) {
+                    overflowCounter.increment();
+                    return true;
+                }
+            }
+            trace = buffers.computeIfAbsent(rootId, id -> new TraceBuffer());
+        }
+        trace.add(span);
+        return true;
+    }
+
+    private boolean shouldKeep(MutableSpan root, List<MutableSpan> spans) {
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return true;
+        }
+        for (MutableSpan span : spans) {
+            if (span.error() != null || "SERVER_ERROR".equals(span.tag("outcome"))) {
+                return true;
+            }
+        }
+        return baselineRatio > 0 && ThreadLocalRandom.current().nextDouble() < baselineRatio;
+    }
+
+    private static final class TraceBuffer {
+        private final long created = System.nanoTime();
+        private final List<MutableSpan> spans = new ArrayList<>();
+
+        synchronized void add(MutableSpan span) {
+            spans.add(span);
+        }
+
+        synchronized List<MutableSpan> snapshot() {
+            return new ArrayList<>(spans);
+        }
+    }
+} 
\ No newline at end of file
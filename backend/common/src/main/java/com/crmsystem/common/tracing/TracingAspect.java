@@ -0,0 +1,54 @@
+package com.crmsystem.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+// Child spans for controller, service and repository calls inside a traced request.
+// Work outside a request (scheduled jobs, startup initialization) has no current span and is left untraced.
+@Aspect
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    // Each service keeps its services under a ...service package (com.crmsystem.customer.service,
+    // com.crmsystem.auth.security.service)
+    @Around("within(com.crmsystem..service..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    // Repository beans are JDK proxies, so match on the interface hierarchy instead of the package
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        Span span = tracer.nextSpan()
+                .name(type.getSimpleName() + "." + joinPoint.getSignature().getName())
+                .tag("crm.layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            span.error(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+} 
\ No newline at end of file
@@ -2,11 +2,13 @@ package com.crmsystem.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 
-@SpringBootApplication
+// R2DBC is only used by the opt-in streaming reads, which build their own pool (see ReactiveReadConfig)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableDiscoveryClient
 @OpenAPIDefinition(
     info = @Info(
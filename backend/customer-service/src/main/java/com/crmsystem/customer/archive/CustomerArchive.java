@@ -0,0 +1,132 @@
+package com.crmsystem.customer.archive;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.repository.ArchivedCustomerRepository;
+import com.crmsystem.customer.repository.CustomerSortOrder;
+import com.crmsystem.customer.repository.CustomerSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Cold store for customers moved out of the hot table by CustomerArchiver. Point reads fall through to it,
+// writes move the customer back first, and listings only include it when asked to.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class CustomerArchive {
+
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final CustomerMapper customerMapper;
+
+    public Optional<CustomerDTO> findById(Long id) {
+        return archivedCustomerRepository.findById(id).map(customerMapper::toDTO);
+    }
+
+    public Optional<Long> findVersionById(Long id) {
+        return archivedCustomerRepository.findVersionById(id);
+    }
+
+    // Moves an archived customer back into the hot table; false if it isn't archived
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean restore(Long id) {
+        if (archivedCustomerRepository.copyToHot(id) == 0) {
+            return false;
+        }
+        archivedCustomerRepository.deleteById(id);
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean delete(Long id) {
+        if (!archivedCustomerRepository.existsById(id)) {
+            return false;
+        }
+        archivedCustomerRepository.deleteById(id);
+        return true;
+    }
+
+    // Deletes whichever of the ids are archived and returns those
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> archived = archivedCustomerRepository.findIdsAfter(
+                (root, query, cb) -> root.get("id").in(ids), Long.MIN_VALUE, ids.size());
+        if (!archived.isEmpty()) {
+            archivedCustomerRepository.deleteAllByIdInBatch(archived);
+        }
+        return archived;
+    }
+
+    // Next keyset chunk of archived ids matching the filter, for bulk operations that cover the archive
+    public List<Long> findIdsAfter(CustomerFilter filter, long afterId, int limit) {
+        return archivedCustomerRepository.findIdsAfter(CustomerSpecifications.matching(filter), afterId, limit);
+    }
+
+    // Moves one chunk out of the hot table; rolls the chunk back if copy and delete disagree
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int archive(List<Long> ids, LocalDateTime cutoff) {
+        int copied = archivedCustomerRepository.copyFromHot(ids, cutoff, LocalDateTime.now());
+        int deleted = archivedCustomerRepository.deleteFromHot(ids, cutoff);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " customers but removed " + deleted
+                    + " from the hot table, rolling the chunk back");
+        }
+        return deleted;
+    }
+
+    public boolean existsByEmail(String email) {
+        return archivedCustomerRepository.existsByEmail(email);
+    }
+
+    public long countByStatus(CustomerStatus status) {
+        return archivedCustomerRepository.countByStatus(status);
+    }
+
+    public Page<CustomerDTO> search(String searchTerm, Pageable pageable) {
+        return archivedCustomerRepository.searchArchived(searchTerm, pageable).map(customerMapper::toDTO);
+    }
+
+    public Page<CustomerDTO> findAll(Pageable pageable) {
+        return archivedCustomerRepository.findAll(pageable).map(customerMapper::toDTO);
+    }
+
+    // One page over hot and archived rows together: both sides return their first offset + size rows in the
+    // requested order and a merge skips the offset, so deep pages cost O(offset + size) per side
+    public static Page<CustomerDTO> merge(Function<Pageable, Page<CustomerDTO>> hot,
+                                          Function<Pageable, Page<CustomerDTO>> archived,
+                                          Pageable pageable) {
+        // Both sides tie-break on id like the merge does, so the windows line up
+        Sort sort = pageable.getSort().getOrderFor("id") != null ? pageable.getSort() : pageable.getSort().and(Sort.by("id"));
+        Pageable window = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort);
+        Page<CustomerDTO> hotPage = hot.apply(window);
+        Page<CustomerDTO> archivedPage = archived.apply(window);
+
+        List<CustomerDTO> rows = new ArrayList<>(hotPage.getContent());
+        rows.addAll(archivedPage.getContent());
+        // Same order as the ORDER BY of both sides, including collation and NULL placement
+        rows.sort(CustomerSortOrder.forDTOs(sort));
+        List<CustomerDTO> content = rows.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, hotPage.getTotalElements() + archivedPage.getTotalElements());
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.crmsystem.customer.archive;
+
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.event.CustomerEventOutbox;
+import com.crmsystem.customer.event.CustomerEventType;
+import com.crmsystem.customer.model.Customer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.repository.CustomerRepository;
+import com.crmsystem.customer.repository.CustomerSpecifications;
+import com.crmsystem.customer.service.impl.BulkChunkRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Moves customers whose updatedAt is older than inactive-days from customers to customers_archive, in the
+// same committed chunks as the bulk operations. Each chunk records one ARCHIVED outbox event, so peers evict
+// the customers and their list tags (CustomerChangeCounter) change like for any other write.
+@Component
+@Slf4j
+// Not with sharding: it moves rows out of the primary database's customers table (ShardingConfig refuses the combination)
+@ConditionalOnExpression("${app.archive.enabled:false} and !${app.sharding.enabled:false}")
+public class CustomerArchiver {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerArchive customerArchive;
+    private final BulkChunkRunner bulkChunkRunner;
+    private final CustomerEventOutbox customerEventOutbox;
+    private final long inactiveDays;
+    private final List<CustomerStatus> statuses;
+
+    public CustomerArchiver(CustomerRepository customerRepository,
+                            CustomerArchive customerArchive,
+                            BulkChunkRunner bulkChunkRunner,
+                            CustomerEventOutbox customerEventOutbox,
+                            @Value("${app.archive.inactive-days:365}") long inactiveDays,
+                            @Value("${app.archive.statuses:}") List<CustomerStatus> statuses) {
+        this.customerRepository = customerRepository;
+        this.customerArchive = customerArchive;
+        this.bulkChunkRunner = bulkChunkRunner;
+        this.customerEventOutbox = customerEventOutbox;
+        this.inactiveDays = inactiveDays;
+        this.statuses = statuses;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void archiveInactive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(inactiveDays);
+        Specification<Customer> candidates = CustomerSpecifications.matching(CustomerFilter.builder()
+                .updatedBefore(cutoff)
+                .statusIn(statuses)
+                .build());
+        try {
+            bulkChunkRunner.run("archive",
+                    (afterId, limit) -> customerRepository.findIdsAfter(candidates, afterId, limit),
+                    ids -> {
+                        int archived = customerArchive.archive(ids, cutoff);
+                        if (archived > 0) {
+                            customerEventOutbox.record(CustomerEventType.ARCHIVED, null, Map.of("customerIds", ids));
+                        }
+                        return archived;
+                    });
+        } catch (RuntimeException e) {
+            // Committed chunks stay archived; the rest is picked up by the next run
+            log.warn("Archiving stopped early: {}", e.getMessage());
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,240 @@
+package com.crmsystem.customer.cache;
+
+import com.crmsystem.customer.cache.CacheInvalidationMessage.KeyInvalidation;
+import com.crmsystem.customer.event.CustomerEvent;
+import com.crmsystem.customer.event.CustomerEventListener;
+import com.crmsystem.customer.event.CustomerEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Pushes invalidations for relayed customer events to every other customer-service replica
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.cache.coherence.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationBroadcaster implements CustomerEventListener {
+
+    static final String INVALIDATION_PATH = "/internal/cache/invalidations";
+    // Carries app.cache.coherence.shared-secret; CacheInvalidationController rejects pushes without it
+    public static final String SECRET_HEADER = "X-Cache-Coherence-Secret";
+
+    private final NearCacheInvalidator nearCacheInvalidator;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String serviceId;
+    private final int serverPort;
+    private final int maxBatchSize;
+    private final long heartbeatIntervalMs;
+    private final String sharedSecret;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Queue<KeyInvalidation> pending = new ConcurrentLinkedQueue<>();
+    private final Map<URI, PeerState> peers = new ConcurrentHashMap<>();
+    private volatile long lastBroadcast;
+
+    public CacheInvalidationBroadcaster(NearCacheInvalidator nearCacheInvalidator,
+                                        DiscoveryClient discoveryClient,
+                                        ObjectProvider<Registration> registration,
+                                        @Qualifier("peerRestTemplate") RestTemplate restTemplate,
+                                        ObjectMapper objectMapper,
+                                        @Value("${spring.application.name}") String serviceId,
+                                        @Value("${server.port:8080}") int serverPort,
+                                        @Value("${app.cache.coherence.max-batch-size:500}") int maxBatchSize,
+                                        @Value("${app.cache.coherence.heartbeat-interval-ms:5000}") long heartbeatIntervalMs,
+                                        @Value("${app.cache.coherence.shared-secret:}") String sharedSecret) {
+        if (sharedSecret.isBlank()) {
+            throw new IllegalStateException("app.cache.coherence.shared-secret must be set when cache coherence is "
+                    + "enabled; every replica needs the same value");
+        }
+        this.nearCacheInvalidator = nearCacheInvalidator;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.serviceId = serviceId;
+        this.serverPort = serverPort;
+        this.maxBatchSize = maxBatchSize;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.sharedSecret = sharedSecret;
+    }
+
+    @Override
+    public void onEvents(List<CustomerEvent> events) {
+        List<KeyInvalidation> invalidations = events.stream()
+                .flatMap(this::invalidationsFor)
+                .collect(Collectors.toList());
+
+        // The relay may run on a different replica than the one that made the change
+        nearCacheInvalidator.invalidateLocal(invalidations);
+        pending.addAll(invalidations);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.coherence.batch-interval-ms:200}")
+    public void broadcast() {
+        boolean heartbeatDue = System.currentTimeMillis() - lastBroadcast >= heartbeatIntervalMs;
+        if (pending.isEmpty() && !heartbeatDue) {
+            return;
+        }
+
+        List<ServiceInstance> targets = discoverPeers();
+        do {
+            List<KeyInvalidation> batch = drain();
+            targets.forEach(peer -> send(peer, batch));
+        } while (!pending.isEmpty());
+        lastBroadcast = System.currentTimeMillis();
+    }
+
+    private Stream<KeyInvalidation> invalidationsFor(CustomerEvent event) {
+        if (event.getType() == CustomerEventType.ARCHIVED) {
+            return archivedIds(event).stream().map(id -> new KeyInvalidation(id, event.getSequence(), null));
+        }
+        if (event.getCustomerId() == null) {
+            return Stream.empty();
+        }
+        return Stream.of(new KeyInvalidation(event.getCustomerId(), event.getSequence(), emailOf(event)));
+    }
+
+    private List<Long> archivedIds(CustomerEvent event) {
+        try {
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(event.getPayload()).path("customerIds").forEach(id -> ids.add(id.asLong()));
+            return ids;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.debug("Unreadable payload for outbox event {}: {}", event.getSequence(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String emailOf(CustomerEvent event) {
+        if (event.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(event.getPayload()).path("email").textValue();
+        } catch (JsonProcessingException e) {
+            log.debug("Unreadable payload for outbox event {}: {}", event.getSequence(), e.getMessage());
+            return null;
+        }
+    }
+
+    private List<KeyInvalidation> drain() {
+        List<KeyInvalidation> batch = new ArrayList<>();
+        KeyInvalidation next;
+        while (batch.size() < maxBatchSize && (next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void send(ServiceInstance peer, List<KeyInvalidation> batch) {
+        PeerState state = peers.computeIfAbsent(peer.getUri(), uri -> new PeerState());
+        synchronized (state) {
+            CacheInvalidationMessage message = CacheInvalidationMessage.builder()
+                    .sourceId(sourceId())
+                    .epoch(epoch)
+                    .sequence(state.sequence + 1)
+                    .fullFlush(state.needsFullFlush)
+                    .invalidations(batch)
+                    .build();
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(SECRET_HEADER, sharedSecret);
+            try {
+                restTemplate.postForEntity(peer.getUri().resolve(INVALIDATION_PATH), new HttpEntity<>(message, headers),
+                        Void.class);
+                state.sequence++;
+                state.needsFullFlush = false;
+            } catch (RestClientException e) {
+                // The peer missed this batch; it must drop its whole near-cache once reachable again
+                if (!state.needsFullFlush) {
+                    log.warn("Lost contact with replica {}: {}", peer.getUri(), e.getMessage());
+                }
+                state.needsFullFlush = true;
+            }
+        }
+    }
+
+    private List<ServiceInstance> discoverPeers() {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(serviceId).stream()
+                    .filter(instance -> !isSelf(instance))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            log.debug("Discovery lookup failed: {}", e.getMessage());
+            return List.of();
+        }
+        Set<URI> current = instances.stream().map(ServiceInstance::getUri).collect(Collectors.toSet());
+        peers.keySet().retainAll(current);
+        return instances;
+    }
+
+    private boolean isSelf(ServiceInstance instance) {
+        Registration self = registration.getIfAvailable();
+        if (self != null) {
+            return self.getInstanceId() != null && self.getInstanceId().equals(instance.getInstanceId())
+                    || self.getHost().equalsIgnoreCase(instance.getHost()) && self.getPort() == instance.getPort();
+        }
+        return instance.getPort() == serverPort && isLocalHost(instance.getHost());
+    }
+
+    private String sourceId() {
+        Registration self = registration.getIfAvailable();
+        if (self != null && self.getInstanceId() != null) {
+            return self.getInstanceId();
+        }
+        return localHostName() + ":" + serverPort;
+    }
+
+    private static boolean isLocalHost(String host) {
+        if ("localhost".equalsIgnoreCase(host) || "127.0.0.1".equals(host)) {
+            return true;
+        }
+        try {
+            InetAddress local = InetAddress.getLocalHost();
+            return host.equalsIgnoreCase(local.getHostName()) || host.equals(local.getHostAddress());
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private static class PeerState {
+        private long sequence;
+        private boolean needsFullFlush;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.crmsystem.customer.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private String sourceId;
+
+    // Start time of the sending replica; a change means the sender restarted
+    private long epoch;
+
+    // Per-peer counter, increases by one for every message sent to the receiving replica
+    private long sequence;
+
+    // Tells the receiver to drop everything instead of applying individual keys
+    private boolean fullFlush;
+
+    private List<KeyInvalidation> invalidations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KeyInvalidation {
+        private Long customerId;
+
+        // Outbox sequence of the change that caused the invalidation
+        private Long version;
+
+        // Email after the change, for the receiver's email-exists filter (null for deletes)
+        private String email;
+    }
+} 
\ No newline at end of file
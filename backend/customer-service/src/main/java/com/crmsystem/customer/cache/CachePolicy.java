@@ -0,0 +1,20 @@
+package com.crmsystem.customer.cache;
+
+import java.time.Duration;
+
+// Per-cache loading behaviour. A zero ttl means entries live until evicted; staleWhileRevalidate is how long
+// past the ttl an entry may still be served while one background load refreshes it.
+public record CachePolicy(Duration ttl, Duration staleWhileRevalidate, Duration loadTimeout) {
+
+    public static CachePolicy noExpiry(Duration loadTimeout) {
+        return new CachePolicy(Duration.ZERO, Duration.ZERO, loadTimeout);
+    }
+
+    public boolean expires() {
+        return !ttl.isZero();
+    }
+
+    public boolean servesStale() {
+        return expires() && !staleWhileRevalidate.isZero();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.crmsystem.customer.cache;
+
+import com.crmsystem.customer.config.BinaryContentConfig;
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+// Keeps customerCache warm across restarts: every interval (and on shutdown) the ids of the most read entries,
+// and optionally their values, go to a local snapshot file (see HotKeySnapshotFile). On startup a background
+// thread reads them back into the cache in batches while requests are served, misses loading as usual.
+// Stored values are only reused when the customer's version in the database still matches, since writes
+// made while this instance was down never reached its cache; the rest are read in bulk. A batch is dropped
+// if any customer changed while it was being loaded, and entries already loaded by a request are kept.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.cache.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerCacheSnapshot implements DisposableBean {
+
+    private final CacheManager cacheManager;
+    private final CustomerService customerService;
+    private final CustomerChangeCounter customerChangeCounter;
+    private final ObjectMapper valueMapper;
+    private final long valueSchema;
+    private final Path path;
+    private final int maxKeys;
+    private final boolean includeValues;
+    private final int batchSize;
+
+    // No snapshot is written before the restore is done, so an early one can't replace a fuller file
+    private volatile boolean restored;
+
+    public CustomerCacheSnapshot(CacheManager cacheManager,
+                                 CustomerService customerService,
+                                 CustomerChangeCounter customerChangeCounter,
+                                 Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                 @Value("${app.cache.snapshot.path:${java.io.tmpdir}/customer-cache-${server.port:8082}.snapshot}") String path,
+                                 @Value("${app.cache.snapshot.max-keys:10000}") int maxKeys,
+                                 @Value("${app.cache.snapshot.include-values:false}") boolean includeValues,
+                                 @Value("${app.cache.snapshot.restore-batch-size:500}") int batchSize) {
+        this.cacheManager = cacheManager;
+        this.customerService = customerService;
+        this.customerChangeCounter = customerChangeCounter;
+        this.valueMapper = BinaryContentConfig.binaryObjectMapper(objectMapperBuilder, new SmileFactory());
+        this.valueSchema = schemaOf(CustomerDTO.class);
+        this.path = Path.of(path);
+        this.maxKeys = maxKeys;
+        this.includeValues = includeValues;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void restoreInBackground() {
+        Thread thread = new Thread(this::restore, "customer-cache-restore");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(initialDelayString = "${app.cache.snapshot.interval-ms:60000}",
+               fixedDelayString = "${app.cache.snapshot.interval-ms:60000}")
+    public void snapshot() {
+        if (!restored || !(cacheManager.getCache(NearCacheInvalidator.CUSTOMER_CACHE) instanceof MeteredConcurrentMapCache cache)) {
+            return;
+        }
+        List<Map.Entry<Object, Object>> hottest = cache.takeHottest(maxKeys);
+        if (hottest.isEmpty()) {
+            // Right after a flush the previous snapshot is still the better guess
+            return;
+        }
+        List<Long> ids = new ArrayList<>(hottest.size());
+        List<byte[]> values = new ArrayList<>(hottest.size());
+        try {
+            for (Map.Entry<Object, Object> entry : hottest) {
+                if (entry.getKey() instanceof Long id) {
+                    ids.add(id);
+                    values.add(includeValues && entry.getValue() instanceof CustomerDTO customer
+                            ? valueMapper.writeValueAsBytes(customer) : null);
+                }
+            }
+            HotKeySnapshotFile.write(path, includeValues ? valueSchema : 0, ids, values);
+            log.debug("Wrote {} hot customer ids to {}", ids.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not write the customer cache snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        snapshot();
+    }
+
+    private void restore() {
+        try {
+            HotKeySnapshotFile.Snapshot snapshot;
+            try {
+                snapshot = HotKeySnapshotFile.read(path);
+            } catch (IOException e) {
+                log.warn("Ignoring customer cache snapshot {}: {}", path, e.getMessage());
+                return;
+            }
+            Cache cache = cacheManager.getCache(NearCacheInvalidator.CUSTOMER_CACHE);
+            if (snapshot == null || cache == null) {
+                return;
+            }
+            boolean useValues = snapshot.valueSchema() != 0 && snapshot.valueSchema() == valueSchema;
+            if (!snapshot.values().isEmpty() && !useValues) {
+                log.info("Customer cache snapshot values were written for another CustomerDTO shape, reloading ids only");
+            }
+            long start = System.currentTimeMillis();
+            int loaded = 0;
+            int reused = 0;
+            List<Long> ids = snapshot.ids();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+                String before = customerChangeCounter.current();
+                List<CustomerDTO> customers = new ArrayList<>(batch.size());
+                List<Long> toLoad = batch;
+                if (useValues) {
+                    toLoad = new ArrayList<>();
+                    Map<Long, Long> versions = customerService.getCustomerVersions(batch);
+                    for (Long id : batch) {
+                        CustomerDTO stored = decode(snapshot.values().get(id));
+                        if (stored != null && versions.containsKey(id) && Objects.equals(versions.get(id), stored.getVersion())) {
+                            customers.add(stored);
+                        } else if (versions.containsKey(id)) {
+                            toLoad.add(id);
+                        }
+                    }
+                }
+                int fromValues = customers.size();
+                if (!toLoad.isEmpty()) {
+                    customers.addAll(customerService.getCustomersByIds(toLoad));
+                }
+                if (before == null || !before.equals(customerChangeCounter.current())) {
+                    continue;
+                }
+                customers.forEach(customer -> cache.putIfAbsent(customer.getId(), customer));
+                loaded += customers.size();
+                reused += fromValues;
+            }
+            log.info("Restored {} of {} snapshot customers into {} in {} ms ({} from stored values), snapshot written {} s before",
+                    loaded, ids.size(), NearCacheInvalidator.CUSTOMER_CACHE, System.currentTimeMillis() - start,
+                    reused, (start - snapshot.writtenAt()) / 1000);
+        } catch (Exception e) {
+            log.warn("Customer cache restore stopped; the rest loads on demand", e);
+        } finally {
+            restored = true;
+        }
+    }
+
+    private CustomerDTO decode(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueMapper.readValue(value, CustomerDTO.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Changes with any field added, removed, renamed or retyped, which is what makes stored values unreadable
+    // or incomplete; never 0, which marks a snapshot without values
+    private static long schemaOf(Class<?> type) {
+        String fields = Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .sorted(Comparator.comparing(Field::getName))
+                .map(field -> field.getName() + ":" + field.getGenericType().getTypeName())
+                .collect(Collectors.joining(","));
+        CRC32 crc = new CRC32();
+        crc.update(fields.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() | 1L << 32;
+    }
+} 
\ No newline at end of file
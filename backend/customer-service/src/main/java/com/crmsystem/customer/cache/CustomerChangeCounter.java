@@ -0,0 +1,68 @@
+package com.crmsystem.customer.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counts changes to the customer set as this replica learns of them: local commits, bulk chunks and
+// invalidations from peers. List responses are tagged with the count taken before their query ran, so any
+// change committed afterwards makes the tag stale. The instance part keeps tags of different replicas
+// (and of a restarted one) from ever matching, at the price of a full response when a client switches replica.
+@Component
+public class CustomerChangeCounter {
+
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong generation = new AtomicLong();
+    private final long replicaLagWindowMs;
+    private volatile long lastChange;
+
+    // A list read on a lagging replica would tag rows older than the change with the new count, so for as long
+    // as a healthy replica may lag behind there is no tag at all
+    public CustomerChangeCounter(@Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                                 @Value("${app.datasource.replicas.max-lag-ms:5000}") long maxLagMs,
+                                 @Value("${app.datasource.replicas.health-check-interval-ms:2000}") long healthCheckIntervalMs) {
+        this.replicaLagWindowMs = replicasEnabled ? maxLagMs + healthCheckIntervalMs : 0;
+    }
+
+    // Null while replica reads may still miss the last change
+    public String current() {
+        // Read before lastChange, which changed() sets first: a new count always comes with its lag window
+        long current = generation.get();
+        if (replicaLagWindowMs > 0 && System.currentTimeMillis() - lastChange < replicaLagWindowMs) {
+            return null;
+        }
+        return instance + "." + current;
+    }
+
+    public void changed() {
+        if (replicaLagWindowMs > 0) {
+            lastChange = System.currentTimeMillis();
+        }
+        generation.incrementAndGet();
+    }
+
+    // Once per transaction, after it commits; a list read in between still sees the old rows and old tag
+    public void changedOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed();
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof ChangedOnCommit);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new ChangedOnCommit());
+        }
+    }
+
+    private class ChangedOnCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            changed();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.crmsystem.customer.cache;
+
+import java.util.function.Consumer;
+
+// Full scan of stored customer emails, used to rebuild the email-exists filter
+@FunctionalInterface
+public interface CustomerEmailSource {
+
+    void forEachEmail(Consumer<String> consumer);
+} 
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.crmsystem.customer.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Answers "this email is definitely not taken" without a query. Emails are added on local writes and on
+// invalidations from other replicas; removals are impossible in a bloom filter, so deleted or changed
+// emails linger as false positives until the next periodic rebuild from the database. Until the first
+// rebuild finishes every email counts as possibly present. A "not taken" answer is only as current as the
+// invalidations this replica has received, so a create can still hit the unique email index, which
+// GlobalExceptionHandler turns into a 400.
+@Component
+@Slf4j
+public class EmailExistenceFilter {
+
+    private final CustomerEmailSource customerEmailSource;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final long rebuildIntervalMs;
+
+    private volatile EmailBloomFilter filter;
+    // Emails added while a rebuild scans the table; replayed into the new filter before it is swapped in
+    private volatile Queue<String> addedDuringRebuild;
+    private volatile boolean rebuildRequested;
+    private volatile long lastRebuild;
+    private final AtomicLong elements = new AtomicLong();
+
+    private final Counter absentCounter;
+    private final Counter candidateCounter;
+    private final Counter falsePositiveCounter;
+
+    public EmailExistenceFilter(CustomerEmailSource customerEmailSource,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.customer.email-filter.expected-emails:1000000}") long expectedEmails,
+                                @Value("${app.customer.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${app.customer.email-filter.rebuild-interval-ms:21600000}") long rebuildIntervalMs) {
+        this.customerEmailSource = customerEmailSource;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+
+        this.absentCounter = meterRegistry.counter("customer.email.filter.checks", "result", "absent");
+        this.candidateCounter = meterRegistry.counter("customer.email.filter.checks", "result", "candidate");
+        this.falsePositiveCounter = meterRegistry.counter("customer.email.filter.false.positives");
+        Gauge.builder("customer.email.filter.elements", elements, AtomicLong::get)
+                .description("Emails added to the filter since its last rebuild")
+                .register(meterRegistry);
+    }
+
+    public boolean mightExist(String email) {
+        EmailBloomFilter current = filter;
+        if (current == null || email == null) {
+            return true;
+        }
+        boolean candidate = current.mightContain(normalize(email));
+        (candidate ? candidateCounter : absentCounter).increment();
+        return candidate;
+    }
+
+    // Call with the result of the database check for an email the filter reported as a candidate
+    public void confirmed(boolean exists) {
+        if (!exists) {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    public void add(String email) {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        String normalized = normalize(email);
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+            elements.incrementAndGet();
+        }
+        Queue<String> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(normalized);
+        }
+    }
+
+    // A replica that may have missed invalidations can no longer trust its filter
+    public void requestRebuild() {
+        rebuildRequested = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.customer.email-filter.check-interval-ms:10000}")
+    public void rebuildIfDue() {
+        if (rebuildRequested || (lastRebuild > 0 && System.currentTimeMillis() - lastRebuild >= rebuildIntervalMs)) {
+            rebuild();
+        }
+    }
+
+    synchronized void rebuild() {
+        rebuildRequested = false;
+        long started = System.currentTimeMillis();
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        addedDuringRebuild = pending;
+        try {
+            AtomicLong scanned = new AtomicLong();
+            // Size for growth, so the false positive rate holds until the next rebuild
+            EmailBloomFilter rebuilt = new EmailBloomFilter(Math.max(expectedEmails, elements.get() * 2), falsePositiveRate);
+            customerEmailSource.forEachEmail(email -> {
+                if (email != null) {
+                    rebuilt.put(normalize(email));
+                    scanned.incrementAndGet();
+                }
+            });
+            pending.forEach(rebuilt::put);
+            filter = rebuilt;
+            // Adds racing with the swap may have gone to the old filter only
+            pending.forEach(rebuilt::put);
+            elements.set(scanned.get() + pending.size());
+            lastRebuild = System.currentTimeMillis();
+            log.info("Email filter rebuilt from {} emails in {} ms ({} bits, {} hashes)",
+                    scanned.get(), lastRebuild - started, rebuilt.bitCount(), rebuilt.hashCount());
+        } catch (RuntimeException e) {
+            // Keep serving from the previous filter (or straight from the database) and try again later
+            rebuildRequested = true;
+            log.warn("Email filter rebuild failed, will retry: {}", e.getMessage());
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.crmsystem.customer.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Layout of a customer cache snapshot, big-endian:
+//   int magic, int format version, long value schema (0 = ids only), long written-at millis, int count,
+//   count x (long customer id, int value length or -1, value bytes), int CRC32 of everything before it.
+// Written through a memory mapping into a temporary file that is then moved over the old one, so a reader
+// sees either the previous snapshot or the new one. Any other magic or version, a bad checksum or a short
+// file makes read() fail; the caller then starts without a snapshot.
+final class HotKeySnapshotFile {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x43435348;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+
+    record Snapshot(long writtenAt, long valueSchema, List<Long> ids, Map<Long, byte[]> values) {
+    }
+
+    private HotKeySnapshotFile() {
+    }
+
+    // values holds one entry per id, null where only the id is kept
+    static void write(Path path, long valueSchema, List<Long> ids, List<byte[]> values) throws IOException {
+        long size = HEADER_BYTES + 4L;
+        for (byte[] value : values) {
+            size += 8 + 4 + (value != null ? value.length : 0);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " bytes is too large to map");
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(valueSchema)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                byte[] value = values.get(i);
+                buffer.putLong(ids.get(i));
+                if (value == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(value.length).put(value);
+                }
+            }
+            buffer.putInt(checksum(buffer, buffer.position()));
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Null if there is no snapshot yet
+    static Snapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("unexpected size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a customer cache snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("format version " + version + ", this build reads " + FORMAT_VERSION);
+            }
+            int end = (int) size - 4;
+            if (checksum(buffer, end) != buffer.getInt(end)) {
+                throw new IOException("checksum mismatch");
+            }
+            long valueSchema = buffer.getLong();
+            long writtenAt = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("negative entry count");
+            }
+            List<Long> ids = new ArrayList<>(Math.min(count, end / 12));
+            Map<Long, byte[]> values = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                int length = buffer.getInt();
+                if (length < -1 || length > end - buffer.position()) {
+                    throw new IOException("bad value length " + length);
+                }
+                ids.add(id);
+                if (length >= 0) {
+                    byte[] value = new byte[length];
+                    buffer.get(value);
+                    values.put(id, value);
+                }
+            }
+            if (buffer.position() != end) {
+                throw new IOException("unexpected trailing bytes");
+            }
+            return new Snapshot(writtenAt, valueSchema, ids, values);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated", e);
+        }
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, length));
+        return (int) crc.getValue();
+    }
+} 
\ No newline at end of file
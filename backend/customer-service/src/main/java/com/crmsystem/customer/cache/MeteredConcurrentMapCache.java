@@ -0,0 +1,261 @@
+package com.crmsystem.customer.cache;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+// ConcurrentMapCache keeps no statistics, so count hits, misses, puts and evictions here for the cache metrics.
+// Lookups and writes inside a traced request also get a span.
+// Loads through get(key, loader) are single-flight, and entries may expire per the cache's CachePolicy.
+// Each entry counts its reads, so the hottest ones can be listed for a snapshot (see CustomerCacheSnapshot).
+public class MeteredConcurrentMapCache extends ConcurrentMapCache {
+
+    private final Tracer tracer;
+    private final CachePolicy policy;
+    private final SingleFlightLoader loader;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    public MeteredConcurrentMapCache(String name, boolean allowNullValues, Tracer tracer,
+                                     CachePolicy policy, Executor refreshExecutor) {
+        super(name, new ConcurrentHashMap<>(256), allowNullValues);
+        this.tracer = tracer;
+        this.policy = policy;
+        this.loader = new SingleFlightLoader(name, policy.loadTimeout(), refreshExecutor);
+    }
+
+    // Plain lookups only see fresh entries; stale ones are served by get(key, loader), which can refresh them
+    @Override
+    protected Object lookup(Object key) {
+        Span span = startSpan("get");
+        Object stored = super.lookup(key);
+        Object value = stored != null && age((Entry) stored) <= ttlNanos() ? stored : null;
+        (value != null ? hits : misses).increment();
+        if (value != null) {
+            ((Entry) value).reads++;
+        }
+        endSpan(span, value != null);
+        return value;
+    }
+
+    // Used by @Cacheable(sync = true), which does not go through lookup()
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Span span = startSpan("get");
+        boolean hit = true;
+        try (Tracer.SpanInScope ignored = span != null ? tracer.withSpan(span) : null) {
+            Entry entry = (Entry) getNativeCache().get(key);
+            if (entry != null) {
+                long age = age(entry);
+                entry.reads++;
+                if (age <= ttlNanos()) {
+                    hits.increment();
+                    return (T) fromStoreValue(entry);
+                }
+                if (policy.servesStale() && age <= ttlNanos() + policy.staleWhileRevalidate().toNanos()) {
+                    hits.increment();
+                    staleServed.increment();
+                    loader.refresh(key, valueLoader, this::put);
+                    return (T) fromStoreValue(entry);
+                }
+            }
+            hit = false;
+            misses.increment();
+            return (T) loader.load(key, valueLoader, this::put);
+        } finally {
+            endSpan(span, hit);
+        }
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return new Entry(super.toStoreValue(userValue), System.nanoTime());
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return super.fromStoreValue(storeValue instanceof Entry entry ? entry.value() : storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Span span = startSpan("put");
+        super.put(key, value);
+        puts.increment();
+        endSpan(span, null);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Span span = startSpan("evict");
+        loader.invalidate(key);
+        boolean evicted = super.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        endSpan(span, null);
+        return evicted;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    // With stale-while-revalidate, a clear only marks entries stale: readers keep getting the old value
+    // while one background load per key replaces it
+    @Override
+    public void clear() {
+        loader.invalidateAll();
+        if (!policy.servesStale()) {
+            super.clear();
+            return;
+        }
+        long staleSince = System.nanoTime() - ttlNanos() - 1;
+        getNativeCache().replaceAll((key, stored) -> ((Entry) stored).rewritten(staleSince));
+    }
+
+    @Override
+    public boolean invalidate() {
+        loader.invalidateAll();
+        return super.invalidate();
+    }
+
+    public long size() {
+        return getNativeCache().size();
+    }
+
+    // Keys and values of the most read entries, hottest first. Halves every entry's read count, so what
+    // ranks high on the next call is what was read since, not what was popular once.
+    public List<Map.Entry<Object, Object>> takeHottest(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Ranked> hottest = new PriorityQueue<>(Comparator.comparingInt(Ranked::reads));
+        getNativeCache().forEach((key, stored) -> {
+            Entry entry = (Entry) stored;
+            int reads = entry.reads;
+            entry.reads = reads >>> 1;
+            if (hottest.size() < limit) {
+                hottest.add(new Ranked(key, entry, reads));
+            } else if (reads > hottest.peek().reads()) {
+                hottest.poll();
+                hottest.add(new Ranked(key, entry, reads));
+            }
+        });
+        List<Map.Entry<Object, Object>> result = new ArrayList<>(hottest.size());
+        while (!hottest.isEmpty()) {
+            Ranked ranked = hottest.poll();
+            result.add(new AbstractMap.SimpleImmutableEntry<>(ranked.key(), fromStoreValue(ranked.entry())));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long coalescedCount() {
+        return loader.coalescedCount();
+    }
+
+    public long loadTimeoutCount() {
+        return loader.timeoutCount();
+    }
+
+    public long staleServedCount() {
+        return staleServed.sum();
+    }
+
+    public long refreshCount() {
+        return loader.refreshCount();
+    }
+
+    public long refreshFailureCount() {
+        return loader.refreshFailureCount();
+    }
+
+    private long ttlNanos() {
+        return policy.expires() ? policy.ttl().toNanos() : Long.MAX_VALUE;
+    }
+
+    private static long age(Entry entry) {
+        return System.nanoTime() - entry.writtenAt();
+    }
+
+    private Span startSpan(String operation) {
+        if (tracer.currentSpan() == null) {
+            return null;
+        }
+        return tracer.nextSpan().name("cache." + operation + " " + getName()).tag("crm.layer", "cache").start();
+    }
+
+    private void endSpan(Span span, Boolean hit) {
+        if (span == null) {
+            return;
+        }
+        if (hit != null) {
+            span.tag("cache.hit", hit.toString());
+        }
+        span.end();
+    }
+
+    // reads is only a popularity estimate: increments racing on the plain field may get lost
+    private static final class Entry {
+
+        private final Object value;
+        private final long writtenAt;
+        private int reads;
+
+        Entry(Object value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+
+        Object value() {
+            return value;
+        }
+
+        long writtenAt() {
+            return writtenAt;
+        }
+
+        Entry rewritten(long writtenAt) {
+            Entry entry = new Entry(value, writtenAt);
+            entry.reads = reads;
+            return entry;
+        }
+    }
+
+    private record Ranked(Object key, Entry entry, int reads) {
+    }
+} 
\ No newline at end of file
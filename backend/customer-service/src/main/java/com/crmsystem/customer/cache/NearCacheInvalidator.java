@@ -0,0 +1,138 @@
+package com.crmsystem.customer.cache;
+
+import com.crmsystem.customer.cache.CacheInvalidationMessage.KeyInvalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class NearCacheInvalidator {
+
+    public static final String CUSTOMER_CACHE = "customerCache";
+    public static final String CUSTOMER_STATUS_CACHE = "customerStatusCache";
+
+    private final CacheManager cacheManager;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final CustomerChangeCounter customerChangeCounter;
+    private final long partitionTimeoutMs;
+    private final int maxTrackedKeys;
+
+    // Highest change version applied per customer id, so redelivered or reordered messages are ignored
+    private final Map<Long, Long> keyVersions = new ConcurrentHashMap<>();
+    private final Map<String, SourceState> sources = new ConcurrentHashMap<>();
+
+    private final Counter appliedCounter;
+    private final Counter staleCounter;
+    private final Counter flushCounter;
+
+    public NearCacheInvalidator(CacheManager cacheManager,
+                                EmailExistenceFilter emailExistenceFilter,
+                                CustomerChangeCounter customerChangeCounter,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.coherence.partition-timeout-ms:15000}") long partitionTimeoutMs,
+                                @Value("${app.cache.coherence.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.cacheManager = cacheManager;
+        this.emailExistenceFilter = emailExistenceFilter;
+        this.customerChangeCounter = customerChangeCounter;
+        this.partitionTimeoutMs = partitionTimeoutMs;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.appliedCounter = meterRegistry.counter("customer.cache.coherence.invalidations", "result", "applied");
+        this.staleCounter = meterRegistry.counter("customer.cache.coherence.invalidations", "result", "stale");
+        this.flushCounter = meterRegistry.counter("customer.cache.coherence.flushes");
+    }
+
+    public void invalidateLocal(List<KeyInvalidation> invalidations) {
+        boolean changed = false;
+        for (KeyInvalidation invalidation : invalidations) {
+            // Added even for stale versions: an extra email only costs a confirming query
+            emailExistenceFilter.add(invalidation.getEmail());
+            changed |= apply(invalidation);
+        }
+        if (changed) {
+            evictStatusCounts();
+            customerChangeCounter.changed();
+        }
+    }
+
+    public void receive(CacheInvalidationMessage message) {
+        long now = System.currentTimeMillis();
+        SourceState previous = sources.put(message.getSourceId(),
+                new SourceState(message.getEpoch(), message.getSequence(), now));
+
+        // A gap in the per-peer sequence, a restarted sender or a long silence means we may have missed
+        // invalidations while partitioned, so individual keys can no longer be trusted
+        boolean rejoined = previous != null
+                && (previous.epoch() != message.getEpoch()
+                || message.getSequence() != previous.sequence() + 1
+                || now - previous.lastHeard() > partitionTimeoutMs);
+
+        if (message.isFullFlush() || rejoined) {
+            log.info("Full cache flush requested by {} (sender flag: {}, rejoin detected: {})",
+                    message.getSourceId(), message.isFullFlush(), rejoined);
+            flushAll();
+            return;
+        }
+
+        if (message.getInvalidations() != null && !message.getInvalidations().isEmpty()) {
+            invalidateLocal(message.getInvalidations());
+        }
+    }
+
+    public void flushAll() {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+        keyVersions.clear();
+        customerChangeCounter.changed();
+        // Emails created on other replicas while we were cut off are missing from the filter
+        emailExistenceFilter.requestRebuild();
+        flushCounter.increment();
+    }
+
+    private boolean apply(KeyInvalidation invalidation) {
+        if (invalidation.getCustomerId() == null) {
+            return false;
+        }
+        long version = invalidation.getVersion() != null ? invalidation.getVersion() : Long.MAX_VALUE;
+        Long previous = keyVersions.get(invalidation.getCustomerId());
+        if (previous != null && previous >= version) {
+            staleCounter.increment();
+            return false;
+        }
+
+        if (keyVersions.size() >= maxTrackedKeys) {
+            // Forgetting versions only costs redundant evictions, never a stale read
+            keyVersions.clear();
+        }
+        keyVersions.merge(invalidation.getCustomerId(), version, Math::max);
+
+        Cache cache = cacheManager.getCache(CUSTOMER_CACHE);
+        if (cache != null) {
+            cache.evict(invalidation.getCustomerId());
+        }
+        appliedCounter.increment();
+        return true;
+    }
+
+    private void evictStatusCounts() {
+        Cache cache = cacheManager.getCache(CUSTOMER_STATUS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private record SourceState(long epoch, long sequence, long lastHeard) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.crmsystem.customer.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// Collapses concurrent loads of the same key into one: the first caller runs the loader, later callers wait
+// for its result. Waiters give up after the load timeout and load on their own, so one hung query can't
+// stall every reader of a key. Invalidating a key while its load is in flight keeps that (possibly
+// pre-update) result out of the cache.
+@Slf4j
+class SingleFlightLoader {
+
+    private final String cacheName;
+    private final Duration loadTimeout;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    SingleFlightLoader(String cacheName, Duration loadTimeout, Executor refreshExecutor) {
+        this.cacheName = cacheName;
+        this.loadTimeout = loadTimeout;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    Object load(Object key, Callable<?> loader, BiConsumer<Object, Object> store) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return run(key, loader, store, flight);
+        }
+
+        coalesced.increment();
+        try {
+            return leader.get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Load of {} in cache {} still running after {} ms, loading independently",
+                    key, cacheName, loadTimeout.toMillis());
+            return call(key, loader);
+        } catch (ExecutionException e) {
+            throw rethrow(key, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Cache.ValueRetrievalException(key, loader, e);
+        }
+    }
+
+    // Starts a background load unless one is already running for the key
+    void refresh(Object key, Callable<?> loader, BiConsumer<Object, Object> store) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        refreshes.increment();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    run(key, loader, store, flight);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh of {} in cache {} failed, keeping the stale value: {}",
+                            key, cacheName, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshFailures.increment();
+            inFlight.remove(key, flight);
+            flight.cancel(false);
+        }
+    }
+
+    void invalidate(Object key) {
+        inFlight.remove(key);
+    }
+
+    void invalidateAll() {
+        inFlight.clear();
+    }
+
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    long refreshCount() {
+        return refreshes.sum();
+    }
+
+    long refreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    private Object run(Object key, Callable<?> loader, BiConsumer<Object, Object> store,
+                       CompletableFuture<Object> flight) {
+        try {
+            Object value = call(key, loader);
+            // Only the still-registered flight may write; an eviction in the meantime removed it
+            if (inFlight.remove(key, flight)) {
+                store.accept(key, value);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object call(Object key, Callable<?> loader) {
+        try {
+            return loader.call();
+        } catch (Exception e) {
+            throw rethrow(key, e);
+        }
+    }
+
+    // Unchecked exceptions (e.g. ResourceNotFoundException) reach every waiter unchanged
+    private static RuntimeException rethrow(Object key, Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new Cache.ValueRetrievalException(key, null, cause);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.crmsystem.customer.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// One reusable gzip stream state: a raw Deflater, the CRC of the input and an output buffer. Written by hand
+// instead of GZIPOutputStream, which always allocates (and on close ends) its own Deflater.
+public class GzipEncoder {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer;
+
+    GzipEncoder(int level, int bufferSize) {
+        this.deflater = new Deflater(level, true);
+        this.buffer = new byte[bufferSize];
+    }
+
+    // Stream writing one gzip member to target; close() writes the trailer but leaves target open
+    public OutputStream compressTo(OutputStream target) throws IOException {
+        target.write(HEADER);
+        return new OutputStream() {
+            private boolean finished;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (finished) {
+                    throw new IOException("gzip stream already finished");
+                }
+                if (len == 0) {
+                    return;
+                }
+                crc.update(b, off, len);
+                deflater.setInput(b, off, len);
+                // Drain fully: the Deflater keeps a reference to the caller's array until it needs input
+                while (!deflater.needsInput()) {
+                    drain(target);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                deflater.finish();
+                while (!deflater.finished()) {
+                    drain(target);
+                }
+                writeTrailer(target);
+            }
+        };
+    }
+
+    public long bytesRead() {
+        return deflater.getBytesRead();
+    }
+
+    public long bytesWritten() {
+        return HEADER.length + deflater.getBytesWritten() + 8;
+    }
+
+    void reset() {
+        deflater.reset();
+        crc.reset();
+    }
+
+    void end() {
+        deflater.end();
+    }
+
+    private void drain(OutputStream target) throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.NO_FLUSH);
+        if (length > 0) {
+            target.write(buffer, 0, length);
+        }
+    }
+
+    private void writeTrailer(OutputStream target) throws IOException {
+        long crcValue = crc.getValue();
+        long size = deflater.getBytesRead();
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crcValue >>> (8 * i));
+            trailer[4 + i] = (byte) (size >>> (8 * i));
+        }
+        target.write(trailer);
+    }
+} 
\ No newline at end of file
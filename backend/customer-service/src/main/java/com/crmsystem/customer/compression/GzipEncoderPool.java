@@ -0,0 +1,45 @@
+package com.crmsystem.customer.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// A Deflater holds about 256 KB of native zlib state that is only freed by end() or finalization, so one
+// per response (what Tomcat's compression does) churns native memory under load. Encoders are reset and
+// reused instead; borrowing never blocks, extra encoders are created when the pool is empty and ended
+// when more than maxIdle come back.
+public class GzipEncoderPool implements AutoCloseable {
+
+    private final int level;
+    private final int bufferSize;
+    private final BlockingQueue<GzipEncoder> idle;
+
+    public GzipEncoderPool(int level, int bufferSize, int maxIdle) {
+        this.level = level;
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+    }
+
+    public GzipEncoder borrow() {
+        GzipEncoder encoder = idle.poll();
+        return encoder != null ? encoder : new GzipEncoder(level, bufferSize);
+    }
+
+    public void release(GzipEncoder encoder) {
+        encoder.reset();
+        if (!idle.offer(encoder)) {
+            encoder.end();
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        GzipEncoder encoder;
+        while ((encoder = idle.poll()) != null) {
+            encoder.end();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.crmsystem.customer.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+// Gzips API responses for clients sending Accept-Encoding: gzip, using encoders from a shared pool rather
+// than Tomcat's per-response Deflater (server.compression stays off). Bodies a handler already encoded,
+// bodies below min-size and async (streaming) responses are sent as they are.
+public class GzipResponseFilter extends OncePerRequestFilter {
+
+    private final GzipEncoderPool pool;
+    private final int minSize;
+    private final List<MediaType> compressibleTypes;
+    private final Counter compressedCounter;
+    private final Counter tooSmallCounter;
+    private final Counter bytesInCounter;
+    private final Counter bytesOutCounter;
+
+    public GzipResponseFilter(GzipEncoderPool pool, int minSize, List<MediaType> compressibleTypes,
+                              MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.minSize = minSize;
+        this.compressibleTypes = compressibleTypes;
+        this.compressedCounter = meterRegistry.counter("http.server.compression.responses", "result", "compressed");
+        this.tooSmallCounter = meterRegistry.counter("http.server.compression.responses", "result", "too-small");
+        this.bytesInCounter = meterRegistry.counter("http.server.compression.bytes", "stage", "in");
+        this.bytesOutCounter = meterRegistry.counter("http.server.compression.bytes", "stage", "out");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/")
+                || "HEAD".equals(request.getMethod())
+                || !acceptsGzip(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Caches in front of us must key on Accept-Encoding whether or not this response ends up compressed
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(response, pool, minSize, compressibleTypes);
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (request.isAsyncStarted()) {
+                if (!wrapper.passThrough()) {
+                    // The handler wrote min-size bytes before going async: end the gzip stream when it completes
+                    request.getAsyncContext().addListener(new FinishOnComplete(wrapper));
+                    releaseNow = false;
+                }
+                return;
+            }
+            record(wrapper.finish(), wrapper);
+        } finally {
+            if (releaseNow) {
+                wrapper.release();
+            }
+        }
+    }
+
+    private void record(GzipResponseWrapper.Outcome outcome, GzipResponseWrapper wrapper) {
+        if (outcome == GzipResponseWrapper.Outcome.COMPRESSED) {
+            compressedCounter.increment();
+            bytesInCounter.increment(wrapper.bytesIn());
+            bytesOutCounter.increment(wrapper.bytesOut());
+        } else if (outcome == GzipResponseWrapper.Outcome.TOO_SMALL) {
+            tooSmallCounter.increment();
+        }
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equals(parts[0].trim()) && !"*".equals(parts[0].trim())) {
+                continue;
+            }
+            // gzip;q=0 means "not gzip"
+            return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    private class FinishOnComplete implements AsyncListener {
+
+        private final GzipResponseWrapper wrapper;
+
+        FinishOnComplete(GzipResponseWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            try {
+                record(wrapper.finish(), wrapper);
+            } finally {
+                wrapper.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        // Followed by onComplete, which releases the encoder
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.crmsystem.customer.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+// Decides on the first body write whether to compress: the body is held back until it reaches minSize, so
+// small responses keep their Content-Length and skip the Deflater entirely. Flushes are ignored while
+// buffering or compressing; the body is completed by finish() once the handler has returned.
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    enum Outcome {COMPRESSED, TOO_SMALL, SKIPPED}
+
+    private enum State {UNDECIDED, BUFFERING, COMPRESSING, IDENTITY}
+
+    private final GzipEncoderPool pool;
+    private final int minSize;
+    private final List<MediaType> compressibleTypes;
+
+    private State state = State.UNDECIDED;
+    private byte[] staged;
+    private int stagedLength;
+    private long declaredLength = -1;
+    private GzipEncoder encoder;
+    private OutputStream compressed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    GzipResponseWrapper(HttpServletResponse response, GzipEncoderPool pool, int minSize,
+                        List<MediaType> compressibleTypes) {
+        super(response);
+        this.pool = pool;
+        this.minSize = minSize;
+        this.compressibleTypes = compressibleTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new Stream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            outputStream = new Stream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        declaredLength = len;
+        if (state == State.IDENTITY) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        if (state == State.IDENTITY) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        discardStaged();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        discardStaged();
+        declaredLength = -1;
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discardStaged();
+        state = State.IDENTITY;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discardStaged();
+        state = State.IDENTITY;
+        super.sendError(sc);
+    }
+
+    // Writes from now on go straight to the response, for async (streaming) handlers that flush per element.
+    // False if compression has already started.
+    boolean passThrough() throws IOException {
+        if (state == State.COMPRESSING) {
+            return false;
+        }
+        if (state != State.IDENTITY) {
+            flushWriter();
+            writeIdentity(false);
+        }
+        return true;
+    }
+
+    Outcome finish() throws IOException {
+        flushWriter();
+        try {
+            switch (state) {
+                case BUFFERING -> {
+                    writeIdentity(true);
+                    return Outcome.TOO_SMALL;
+                }
+                case COMPRESSING -> {
+                    compressed.close();
+                    return Outcome.COMPRESSED;
+                }
+                default -> {
+                    return Outcome.SKIPPED;
+                }
+            }
+        } finally {
+            state = State.IDENTITY;
+        }
+    }
+
+    long bytesIn() {
+        return encoder != null ? encoder.bytesRead() : 0;
+    }
+
+    long bytesOut() {
+        return encoder != null ? encoder.bytesWritten() : 0;
+    }
+
+    void release() {
+        if (encoder != null) {
+            pool.release(encoder);
+            encoder = null;
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (state == State.UNDECIDED) {
+            state = compressible() ? State.BUFFERING : State.IDENTITY;
+            if (state == State.IDENTITY && declaredLength >= 0) {
+                super.setContentLengthLong(declaredLength);
+            }
+        }
+        switch (state) {
+            case BUFFERING -> {
+                if (stagedLength + len < minSize) {
+                    if (staged == null) {
+                        staged = new byte[minSize];
+                    }
+                    System.arraycopy(b, off, staged, stagedLength, len);
+                    stagedLength += len;
+                } else {
+                    startCompressing();
+                    compressed.write(b, off, len);
+                }
+            }
+            case COMPRESSING -> compressed.write(b, off, len);
+            default -> getResponse().getOutputStream().write(b, off, len);
+        }
+    }
+
+    private boolean compressible() {
+        if (declaredLength >= 0 && declaredLength < minSize) {
+            return false;
+        }
+        if (containsHeader(HttpHeaders.CONTENT_ENCODING) || getContentType() == null) {
+            return false;
+        }
+        MediaType contentType;
+        try {
+            contentType = MediaType.parseMediaType(getContentType());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return compressibleTypes.stream().anyMatch(type -> type.includes(contentType));
+    }
+
+    private void startCompressing() throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        encoder = pool.borrow();
+        compressed = encoder.compressTo(response.getOutputStream());
+        state = State.COMPRESSING;
+        if (stagedLength > 0) {
+            compressed.write(staged, 0, stagedLength);
+        }
+        staged = null;
+        stagedLength = 0;
+    }
+
+    private void writeIdentity(boolean complete) throws IOException {
+        state = State.IDENTITY;
+        if (complete) {
+            super.setContentLengthLong(stagedLength);
+        } else if (declaredLength >= 0) {
+            super.setContentLengthLong(declaredLength);
+        }
+        if (stagedLength > 0) {
+            getResponse().getOutputStream().write(staged, 0, stagedLength);
+        }
+        staged = null;
+        stagedLength = 0;
+    }
+
+    private void discardStaged() {
+        if (state == State.COMPRESSING) {
+            throw new IllegalStateException("Response body is already being compressed");
+        }
+        staged = null;
+        stagedLength = 0;
+        if (state == State.BUFFERING) {
+            state = State.UNDECIDED;
+        }
+    }
+
+    private void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private class Stream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            GzipResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (state == State.IDENTITY) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported on compressed responses");
+        }
+    }
+} 
\ No newline at end of file
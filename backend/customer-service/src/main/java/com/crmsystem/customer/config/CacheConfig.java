@@ -1,21 +1,66 @@
 package com.crmsystem.customer.config;
 
+import com.crmsystem.customer.cache.CachePolicy;
+import com.crmsystem.customer.cache.MeteredConcurrentMapCache;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+    public CacheManager cacheManager(ObjectProvider<Tracer> tracerProvider,
+                                     @Value("${app.cache.load-timeout-ms:2000}") long loadTimeoutMs,
+                                     @Value("${app.cache.status-counts.ttl-ms:30000}") long statusTtlMs,
+                                     @Value("${app.cache.status-counts.stale-while-revalidate-ms:300000}") long statusStaleMs,
+                                     @Value("${app.cache.refresh.threads:2}") int refreshThreads) {
+        Tracer tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+        ThreadPoolTaskExecutor refreshExecutor = refreshExecutor(refreshThreads);
+        Duration loadTimeout = Duration.ofMillis(loadTimeoutMs);
+        // Customers are evicted on every write, so they never expire; status counts are a dashboard
+        // aggregate and are refreshed in the background instead of being recounted by every caller
+        Map<String, CachePolicy> policies = Map.of(
+                "customerCache", CachePolicy.noExpiry(loadTimeout),
+                "customerStatusCache", new CachePolicy(
+                        Duration.ofMillis(statusTtlMs), Duration.ofMillis(statusStaleMs), loadTimeout));
+        // Metered caches so hit ratios show up under cache.* in the metrics
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new MeteredConcurrentMapCache(name, isAllowNullValues(), tracer,
+                        policies.getOrDefault(name, CachePolicy.noExpiry(loadTimeout)), refreshExecutor);
+            }
+        };
+        cacheManager.setCacheNames(List.of(
                 "customerCache", 
                 "customerStatusCache"
-        );
+        ));
         return cacheManager;
     }
+
+    // Background stale-while-revalidate loads; at most one per key is queued at a time. Not a bean, so it
+    // doesn't displace the auto-configured applicationTaskExecutor.
+    private static ThreadPoolTaskExecutor refreshExecutor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.customer.compression.GzipEncoderPool;
+import com.crmsystem.customer.compression.GzipResponseFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+
+@Configuration
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean(destroyMethod = "close")
+    public GzipEncoderPool gzipEncoderPool(MeterRegistry meterRegistry,
+                                           @Value("${app.compression.level:6}") int level,
+                                           @Value("${app.compression.buffer-size:8192}") int bufferSize,
+                                           @Value("${app.compression.pool.max-idle:64}") int maxIdle) {
+        GzipEncoderPool pool = new GzipEncoderPool(level, bufferSize, maxIdle);
+        Gauge.builder("http.server.compression.encoders.idle", pool, GzipEncoderPool::idleCount)
+                .description("Pooled gzip encoders waiting for a response")
+                .register(meterRegistry);
+        return pool;
+    }
+
+    // Outside the other filters, so it sees the final body and headers
+    @Bean
+    public FilterRegistrationBean<GzipResponseFilter> gzipResponseFilter(
+            GzipEncoderPool gzipEncoderPool,
+            MeterRegistry meterRegistry,
+            @Value("${app.compression.min-size:1024}") int minSize,
+            @Value("${app.compression.mime-types:application/json,application/cbor,application/x-jackson-smile,application/problem+json}")
+            String mimeTypes) {
+        FilterRegistrationBean<GzipResponseFilter> registration = new FilterRegistrationBean<>(
+                new GzipResponseFilter(gzipEncoderPool, minSize, MediaType.parseMediaTypes(mimeTypes), meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+} 
\ No newline at end of file
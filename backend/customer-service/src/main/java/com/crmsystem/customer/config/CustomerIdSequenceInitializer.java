@@ -0,0 +1,58 @@
+package com.crmsystem.customer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Databases created with IDENTITY ids already contain rows, and restores bring archived rows back with their
+// ids; move the id allocator past both so no reserved block can collide with an existing customer.
+// Runs after every Flyway migrate, which Boot completes before the EntityManagerFactory is built: the id
+// generator has no block cached yet and no request can be served until the allocator has moved.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class CustomerIdSequenceInitializer implements Callback {
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        try (Statement query = context.getConnection().createStatement();
+             ResultSet rs = query.executeQuery("SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM customers), "
+                     + "(SELECT COALESCE(MAX(id), 0) FROM customers_archive))");
+             PreparedStatement update = context.getConnection()
+                     .prepareStatement("UPDATE customer_seq SET next_val = ? WHERE next_val <= ?")) {
+            rs.next();
+            long maxId = rs.getLong(1);
+            update.setLong(1, maxId + 1);
+            update.setLong(2, maxId);
+            if (update.executeUpdate() > 0) {
+                log.info("Advanced customer id allocator past existing id {}", maxId);
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not advance customer_seq past the existing customer ids", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "CustomerIdSequenceInitializer";
+    }
+} 
\ No newline at end of file
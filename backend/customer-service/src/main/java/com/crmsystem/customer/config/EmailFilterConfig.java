@@ -0,0 +1,54 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.customer.cache.CustomerEmailSource;
+import com.crmsystem.customer.repository.ArchivedCustomerRepository;
+import com.crmsystem.customer.repository.CustomerRepository;
+import com.crmsystem.customer.repository.CustomerRepository.CustomerEmail;
+import com.crmsystem.customer.sharding.ShardedCustomerStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// Where the email-exists filter is rebuilt from: the customers and customers_archive tables, or every shard
+// when sharding is on
+@Configuration
+public class EmailFilterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public CustomerEmailSource customerEmailSource(CustomerRepository customerRepository,
+                                                   ArchivedCustomerRepository archivedCustomerRepository,
+                                                   @Value("${app.customer.email-filter.scan-batch-size:5000}") int batchSize) {
+        return consumer -> {
+            scan(customerRepository::findEmailsAfter, consumer, batchSize);
+            scan(archivedCustomerRepository::findEmailsAfter, consumer, batchSize);
+        };
+    }
+
+    private static void scan(BiFunction<Long, Pageable, List<CustomerEmail>> findEmailsAfter,
+                             Consumer<String> consumer, int batchSize) {
+        long afterId = Long.MIN_VALUE;
+        List<CustomerEmail> batch;
+        do {
+            batch = findEmailsAfter.apply(afterId, PageRequest.of(0, batchSize));
+            batch.forEach(row -> consumer.accept(row.getEmail()));
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    public CustomerEmailSource shardedCustomerEmailSource(ShardedCustomerStore shardedCustomerStore,
+                                                          @Value("${app.customer.email-filter.scan-batch-size:5000}") int batchSize) {
+        return consumer -> shardedCustomerStore.forEachEmail(consumer, batchSize);
+    }
+} 
\ No newline at end of file
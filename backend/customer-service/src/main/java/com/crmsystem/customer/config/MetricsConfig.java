@@ -0,0 +1,33 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.customer.metrics.ConcurrentMapCacheMeterBinderProvider;
+import com.crmsystem.customer.metrics.TimedJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Request, repository and connection pool metrics come from Spring Boot; percentiles are set in application.properties
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on Spring beans (used for the mapping timers)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Picked up by Boot's cache metrics registrar for every cache of the CacheManager
+    @Bean
+    public ConcurrentMapCacheMeterBinderProvider concurrentMapCacheMeterBinderProvider() {
+        return new ConcurrentMapCacheMeterBinderProvider();
+    }
+
+    // Replaces Boot's default Jackson converter
+    @Bean
+    public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                               MeterRegistry meterRegistry) {
+        return new TimedJackson2HttpMessageConverter(objectMapper, meterRegistry);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.customer.repository.ReactiveCustomerReadRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// Opt-in R2DBC pool for the streaming read endpoints. The pool is deliberately not a ConnectionFactory bean:
+// exposing one would switch off the JDBC DataSource auto-configuration the rest of the service runs on.
+//
+// The endpoints are Spring MVC, not WebFlux: MVC subscribes to the Flux and writes each row with blocking
+// servlet I/O on the async executor configured here. A writer thread is busy for as long as its stream has rows
+// buffered and the client is reading them, so concurrency is bounded twice:
+//  - streams fetching rows: the R2DBC pool's max-size; more wait up to max-acquire-time-ms, then fail;
+//  - streams writing rows: stream.writer-threads; more queue up to stream.queue-capacity, then fail.
+// Size writer-threads near the pool size: extra threads only help while clients read slower than the
+// database returns rows. Streams are the only MVC async handlers in this service, so the executor is theirs.
+@Configuration
+// Not with sharding: the R2DBC pool reads the primary database's customers table (ShardingConfig refuses the combination)
+@ConditionalOnExpression("${app.reactive.enabled:false} and !${app.sharding.enabled:false}")
+@Slf4j
+public class ReactiveReadConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ConnectionPool connectionPool;
+    private final ThreadPoolTaskExecutor streamWriteExecutor;
+    private final long streamTimeoutMs;
+
+    public ReactiveReadConfig(
+            @Value("${app.reactive.r2dbc.url}") String url,
+            @Value("${app.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${app.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${app.reactive.r2dbc.pool.initial-size:2}") int initialSize,
+            @Value("${app.reactive.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.r2dbc.pool.max-acquire-time-ms:2000}") long maxAcquireTimeMs,
+            @Value("${app.reactive.stream.writer-threads:10}") int writerThreads,
+            @Value("${app.reactive.stream.queue-capacity:50}") int queueCapacity,
+            @Value("${app.reactive.stream.timeout-ms:300000}") long streamTimeoutMs) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("customer-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .validationQuery("SELECT 1")
+                .build();
+        this.connectionPool = new ConnectionPool(poolConfiguration);
+
+        this.streamWriteExecutor = new ThreadPoolTaskExecutor();
+        streamWriteExecutor.setCorePoolSize(writerThreads);
+        streamWriteExecutor.setMaxPoolSize(writerThreads);
+        streamWriteExecutor.setQueueCapacity(queueCapacity);
+        streamWriteExecutor.setThreadNamePrefix("customer-stream-");
+        streamWriteExecutor.initialize();
+        this.streamTimeoutMs = streamTimeoutMs;
+        log.info("Reactive read path enabled, R2DBC pool max size {}, {} stream writer threads", maxSize, writerThreads);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamWriteExecutor);
+        // A stream still running after this is cut off, so one stuck client can't hold a writer forever
+        configurer.setDefaultTimeout(streamTimeoutMs);
+    }
+
+    @Bean
+    public ReactiveCustomerReadRepository reactiveCustomerReadRepository() {
+        return new ReactiveCustomerReadRepository(DatabaseClient.create(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        streamWriteExecutor.shutdown();
+        connectionPool.dispose();
+    }
+} 
\ No newline at end of file
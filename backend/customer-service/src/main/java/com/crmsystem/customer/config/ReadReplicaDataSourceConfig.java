@@ -0,0 +1,97 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.customer.datasource.ReadReplicaRoutingDataSource;
+import com.crmsystem.customer.datasource.ReadYourWritesFilter;
+import com.crmsystem.customer.datasource.ReadYourWritesTracker;
+import com.crmsystem.customer.datasource.ReplicaHealthMonitor;
+import com.crmsystem.customer.datasource.ReplicaNode;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:}") String username,
+            @Value("${app.datasource.replicas.password:}") String password,
+            @Value("${app.datasource.replicas.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replicas.max-lag-ms:5000}") long maxLagMs) {
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            dataSource.setMaximumPoolSize(maxPoolSize);
+            dataSource.setReadOnly(true);
+            // Do not block startup on a replica that is down; the health monitor takes it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaNode(dataSource.getPoolName(), dataSource));
+        }
+        return new ReplicaHealthMonitor(replicas, lagQuery, maxLagMs);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            ReplicaHealthMonitor replicaHealthMonitor,
+            @Value("${app.datasource.replicas.read-your-writes-window-ms:2000}") long minimumWindowMs,
+            @Value("${app.datasource.replicas.max-lag-ms:5000}") long maxLagMs,
+            @Value("${app.datasource.replicas.max-tracked-clients:100000}") int maxTrackedClients) {
+        // Stay on the primary for at least the configured window, or longer while replicas report more lag
+        return new ReadYourWritesTracker(
+                () -> Math.min(maxLagMs, Math.max(minimumWindowMs, replicaHealthMonitor.maxHealthyLagMs())),
+                maxTrackedClients);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        List<ReplicaNode> replicas = replicaHealthMonitor.replicas();
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.crmsystem.customer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RestTemplateConfig {
+
+    // Short timeouts so an unreachable replica cannot stall the caller
+    @Bean
+    public RestTemplate peerRestTemplate(RestTemplateBuilder builder,
+                                         @Value("${app.peer.connect-timeout-ms:500}") long connectTimeoutMs,
+                                         @Value("${app.peer.read-timeout-ms:1000}") long readTimeoutMs) {
+        return builder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.crmsystem.customer.config;
+
+import com.crmsystem.common.datasource.StatementMonitoringListener;
+import com.crmsystem.customer.sharding.ShardTopology;
+import com.crmsystem.customer.sharding.ShardedCustomerStore;
+import com.crmsystem.customer.sharding.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+    private ExecutorService scatterExecutor;
+
+    // The streaming reads and the archiver work on the primary datasource's customers table, which holds no
+    // customers once they are sharded; refuse to start rather than serve empty streams or archive nothing
+    public ShardingConfig(@Value("${app.reactive.enabled:false}") boolean reactiveEnabled,
+                          @Value("${app.archive.enabled:false}") boolean archiveEnabled) {
+        if (reactiveEnabled || archiveEnabled) {
+            throw new IllegalStateException("app.sharding.enabled can't be combined with app.reactive.enabled or "
+                    + "app.archive.enabled; both only know the unsharded customers table");
+        }
+    }
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.sharding.worker-id:-1}") long workerId,
+                                                     @Value("${server.port:8080}") int serverPort) {
+        if (workerId < 0) {
+            // Fallback for local runs; production replicas should set app.sharding.worker-id explicitly
+            workerId = Math.floorMod(serverPort, 1024);
+            log.warn("app.sharding.worker-id not set, derived worker id {} from the server port", workerId);
+        }
+        return new SnowflakeIdGenerator(workerId);
+    }
+
+    @Bean
+    public ShardedCustomerStore shardedCustomerStore(
+            DataSourceProperties properties,
+            SnowflakeIdGenerator snowflakeIdGenerator,
+            ObjectProvider<StatementMonitoringListener> statementMonitoringListener,
+            @Value("${app.sharding.urls}") List<String> urls,
+            @Value("${app.sharding.username:}") String username,
+            @Value("${app.sharding.password:}") String password,
+            @Value("${app.sharding.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.sharding.initialize-schema:true}") boolean initializeSchema) {
+
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            dataSource.setMaximumPoolSize(maxPoolSize);
+            if (initializeSchema) {
+                DatabasePopulatorUtils.execute(
+                        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")), dataSource);
+            }
+            shardDataSources.add(dataSource);
+            StatementMonitoringListener listener = statementMonitoringListener.getIfAvailable();
+            dataSources.add(listener != null ? listener.proxy(dataSource, dataSource.getPoolName()) : dataSource);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        scatterExecutor = Executors.newFixedThreadPool(Math.max(2, urls.size() * 2), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("Customer storage sharded across {} databases", urls.size());
+        return new ShardedCustomerStore(dataSources, ShardTopology.load(dataSources), snowflakeIdGenerator, scatterExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.crmsystem.customer.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+// Beans from app.startup.lazy-packages (the OpenAPI docs by default) are created when first needed instead
+// of during startup: nothing on the request path uses them, and scanning the controllers for the docs is
+// among the slower parts of a start. Unlike spring.main.lazy-initialization this leaves the rest eager, so
+// the first API request does not pay for the beans it needs.
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("app.startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String source = sourceClassName(definition);
+                if (source != null && packages.stream().anyMatch(p -> source.startsWith(p + "."))
+                        && !initializesAfterSingletons(beanFactory, name)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    // The declaring configuration class for @Bean methods, whose bean class is often not the library's own
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    // Such beans only do their work when created eagerly, as Boot's own lazy initialization also respects
+    private static boolean initializesAfterSingletons(ConfigurableListableBeanFactory beanFactory, String name) {
+        Class<?> type = beanFactory.getType(name, false);
+        return type != null && SmartInitializingSingleton.class.isAssignableFrom(type);
+    }
+} 
\ No newline at end of file
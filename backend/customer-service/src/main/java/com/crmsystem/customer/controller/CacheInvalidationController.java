@@ -0,0 +1,55 @@
+package com.crmsystem.customer.controller;
+
+import com.crmsystem.customer.cache.CacheInvalidationBroadcaster;
+import com.crmsystem.customer.cache.CacheInvalidationMessage;
+import com.crmsystem.customer.cache.NearCacheInvalidator;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Replica-to-replica endpoint; not routed through the API gateway (which also refuses /internal/** outright).
+// Anything that can reach a replica directly could otherwise flush its caches, so pushes must carry the
+// shared secret CacheInvalidationBroadcaster sends.
+@RestController
+@RequestMapping("/internal/cache")
+@Hidden
+@Slf4j
+@ConditionalOnProperty(name = "app.cache.coherence.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationController {
+
+    private final NearCacheInvalidator nearCacheInvalidator;
+    private final byte[] sharedSecret;
+
+    public CacheInvalidationController(NearCacheInvalidator nearCacheInvalidator,
+                                       @Value("${app.cache.coherence.shared-secret:}") String sharedSecret) {
+        this.nearCacheInvalidator = nearCacheInvalidator;
+        this.sharedSecret = sharedSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> receiveInvalidations(
+            @RequestHeader(value = CacheInvalidationBroadcaster.SECRET_HEADER, required = false) String secret,
+            @RequestBody CacheInvalidationMessage message,
+            HttpServletRequest request) {
+        // Constant-time comparison, so response timing doesn't leak how much of a guess was right
+        if (secret == null || !MessageDigest.isEqual(sharedSecret, secret.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected cache invalidations from {} without a valid {} header",
+                    request.getRemoteAddr(), CacheInvalidationBroadcaster.SECRET_HEADER);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        nearCacheInvalidator.receive(message);
+        return ResponseEntity.noContent().build();
+    }
+} 
\ No newline at end of file
@@ -1,23 +1,45 @@
 package com.crmsystem.customer.controller;
 
+import com.crmsystem.customer.cache.CustomerChangeCounter;
+import com.crmsystem.customer.dto.BulkDeleteRequest;
+import com.crmsystem.customer.dto.BulkOperationResult;
+import com.crmsystem.customer.dto.BulkReassignRequest;
+import com.crmsystem.customer.dto.BulkStatusRequest;
+import com.crmsystem.customer.dto.CustomerBatchRequest;
 import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.exception.BadRequestException;
+import com.crmsystem.customer.exception.PreconditionFailedException;
+import com.crmsystem.customer.exception.PreconditionRequiredException;
 import com.crmsystem.customer.model.Customer.CustomerStatus;
 import com.crmsystem.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -26,7 +48,11 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class CustomerController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final Pattern VERSION_ETAG = Pattern.compile("^\\s*\"(\\d{1,18})(-[0-9a-f]{12})?\"\\s*$");
+
     private final CustomerService customerService;
+    private final CustomerChangeCounter customerChangeCounter;
 
     @PostMapping
     @Operation(summary = "Create a new customer")
@@ -34,11 +60,27 @@ public class CustomerController {
         return new ResponseEntity<>(customerService.createCustomer(customerDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create several customers in one request")
+    public ResponseEntity<List<CustomerDTO>> createCustomers(@Valid @RequestBody CustomerBatchRequest batchRequest) {
+        return new ResponseEntity<>(customerService.createCustomers(batchRequest.getCustomers()), HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID")
     public ResponseEntity<CustomerDTO> getCustomerById(
-            @Parameter(description = "Customer ID") @PathVariable Long id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+            @Parameter(description = "Customer ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
+        // Revalidation is answered from the cached customer or its version column, without mapping or serialising
+        if (ifNoneMatch != null) {
+            Optional<Long> version = customerService.getCustomerVersion(id);
+            if (version.isPresent() && ETags.matches(ifNoneMatch, ETags.strong(version.get(), request))) {
+                return ETags.notModified(ETags.strong(version.get(), request));
+            }
+        }
+        CustomerDTO customer = customerService.getCustomerById(id);
+        return ETags.ok(eTagOf(customer, request), customer);
     }
 
     @PutMapping("/{id}")
@@ -49,6 +91,26 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.updateCustomer(id, customerDTO));
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially update a customer with a JSON merge patch",
+            description = "Requires If-Match with the ETag from a previous read; answers 412 if the customer changed since")
+    public ResponseEntity<CustomerDTO> patchCustomer(
+            @Parameter(description = "Customer ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode mergePatch,
+            HttpServletRequest request) {
+        if (ifMatch == null) {
+            throw new PreconditionRequiredException("PATCH requires an If-Match header with the customer's ETag");
+        }
+        Matcher matcher = VERSION_ETAG.matcher(ifMatch);
+        if (!matcher.matches()) {
+            // Weak, wildcard or foreign tags can never identify the current version
+            throw new PreconditionFailedException("If-Match must be a single ETag returned by this API");
+        }
+        CustomerDTO customer = customerService.patchCustomer(id, mergePatch, Long.parseLong(matcher.group(1)));
+        return ResponseEntity.ok().eTag(eTagOf(customer, request)).body(customer);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a customer")
     public ResponseEntity<Void> deleteCustomer(
@@ -57,25 +119,83 @@ public class CustomerController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/reassign")
+    @Operation(summary = "Move every customer of one user to another user")
+    public ResponseEntity<BulkOperationResult> reassignCustomers(@Valid @RequestBody BulkReassignRequest request) {
+        return ResponseEntity.ok(customerService.reassignCustomers(request.getFromUserId(), request.getToUserId()));
+    }
+
+    @PostMapping("/bulk/status")
+    @Operation(summary = "Set the status of every customer matching a filter")
+    public ResponseEntity<BulkOperationResult> updateCustomerStatus(@Valid @RequestBody BulkStatusRequest request) {
+        if (request.getFilter().isEmpty()) {
+            throw new BadRequestException("filter needs at least one criterion");
+        }
+        return ResponseEntity.ok(customerService.updateCustomerStatus(request.getFilter(), request.getStatus()));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete customers by id list or by filter")
+    public ResponseEntity<BulkOperationResult> deleteCustomers(@Valid @RequestBody BulkDeleteRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (byIds == byFilter) {
+            throw new BadRequestException("Give either ids or a filter with at least one criterion");
+        }
+        return ResponseEntity.ok(byIds
+                ? customerService.deleteCustomers(request.getIds())
+                : customerService.deleteCustomers(request.getFilter()));
+    }
+
     @GetMapping
-    @Operation(summary = "Get all customers with pagination")
+    @Operation(summary = "Get customers with pagination, optionally filtered")
     public ResponseEntity<Page<CustomerDTO>> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "lastName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Index-backed property to sort by") @RequestParam(defaultValue = "lastName") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Any of these statuses") @RequestParam(required = false) List<CustomerStatus> status,
+            @RequestParam(required = false) Long assignedUserId,
+            @Parameter(description = "Company name prefix") @RequestParam(required = false) String company,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedBefore,
+            @Parameter(description = "all: every condition must hold (AND), any: one is enough (OR)") @RequestParam(defaultValue = "all") String match,
+            @Parameter(description = "Also list customers moved to the archive") @RequestParam(defaultValue = "false") boolean includeArchived,
+            HttpServletRequest request) {
         
+        if (!match.equalsIgnoreCase("all") && !match.equalsIgnoreCase("any")) {
+            throw new BadRequestException("match must be all or any");
+        }
+        CustomerFilter filter = CustomerFilter.builder()
+                .statusIn(status)
+                .assignedUserId(assignedUserId)
+                .company(company)
+                .createdFrom(createdFrom)
+                .createdBefore(createdBefore)
+                .updatedFrom(updatedFrom)
+                .updatedBefore(updatedBefore)
+                .matchAny(match.equalsIgnoreCase("any"))
+                .build();
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(customerService.getAllCustomers(pageable));
+        if (includeArchived) {
+            if (!filter.isEmpty()) {
+                throw new BadRequestException("includeArchived can't be combined with filters");
+            }
+            return conditionalList(request, () -> customerService.getAllCustomersIncludingArchived(pageable));
+        }
+        return conditionalList(request, () -> customerService.findCustomers(filter, pageable));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get customers by status")
     public ResponseEntity<List<CustomerDTO>> getCustomersByStatus(
-            @Parameter(description = "Customer status") @PathVariable CustomerStatus status) {
-        return ResponseEntity.ok(customerService.getCustomersByStatus(status));
+            @Parameter(description = "Customer status") @PathVariable CustomerStatus status,
+            HttpServletRequest request) {
+        return conditionalList(request, () -> customerService.getCustomersByStatus(status));
     }
 
     @GetMapping("/assigned/{userId}")
@@ -83,10 +203,11 @@ public class CustomerController {
     public ResponseEntity<Page<CustomerDTO>> getCustomersByAssignedUser(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            HttpServletRequest request) {
         
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(customerService.getCustomersByAssignedUser(userId, pageable));
+        return conditionalList(request, () -> customerService.getCustomersByAssignedUser(userId, pageable));
     }
 
     @GetMapping("/search")
@@ -94,10 +215,14 @@ public class CustomerController {
     public ResponseEntity<Page<CustomerDTO>> searchCustomers(
             @RequestParam String term,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Also search customers moved to the archive") @RequestParam(defaultValue = "false") boolean includeArchived,
+            HttpServletRequest request) {
         
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(customerService.searchCustomers(term, pageable));
+        return conditionalList(request, () -> includeArchived
+                ? customerService.searchCustomersIncludingArchived(term, pageable)
+                : customerService.searchCustomers(term, pageable));
     }
 
     @GetMapping("/email-exists")
@@ -108,7 +233,28 @@ public class CustomerController {
 
     @GetMapping("/status-counts")
     @Operation(summary = "Get counts of customers by status")
-    public ResponseEntity<Map<CustomerStatus, Long>> getCustomerStatusCounts() {
-        return ResponseEntity.ok(customerService.getCustomerStatusCounts());
+    public ResponseEntity<Map<CustomerStatus, Long>> getCustomerStatusCounts(HttpServletRequest request) {
+        // Tagged by content: the counts come from the cache, so hashing them is cheaper than sending them
+        Map<CustomerStatus, Long> counts = customerService.getCustomerStatusCounts();
+        String eTag = ETags.weak(new TreeMap<>(counts).toString(), String.valueOf(request.getHeader(HttpHeaders.ACCEPT)));
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ETags.notModified(eTag);
+        }
+        return ETags.ok(eTag, counts);
+    }
+
+    // Lists are tagged with the change count taken before the query, so a 304 skips the query altogether
+    private <T> ResponseEntity<T> conditionalList(HttpServletRequest request, Supplier<T> list) {
+        String changeCount = customerChangeCounter.current();
+        String eTag = changeCount == null ? null : ETags.weak(changeCount, request.getRequestURI(),
+                String.valueOf(request.getQueryString()), String.valueOf(request.getHeader(HttpHeaders.ACCEPT)));
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ETags.notModified(eTag);
+        }
+        return ETags.ok(eTag, list.get());
+    }
+
+    private static String eTagOf(CustomerDTO customer, HttpServletRequest request) {
+        return ETags.strong(Objects.requireNonNullElse(customer.getVersion(), 0L), request);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.crmsystem.customer.controller;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.service.ReactiveCustomerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Streaming variants of the list/search endpoints as newline-delimited JSON. Spring MVC subscribes to the Flux
+// on an async request, so the Tomcat request thread is released, but rows are written with blocking I/O on the
+// customer-stream- executor. See ReactiveReadConfig for how many streams can run at once.
+@RestController
+@RequestMapping("/api/customers/stream")
+@RequiredArgsConstructor
+@Tag(name = "Customer Streams", description = "Reactive streaming read API")
+@CrossOrigin(origins = "*")
+@ConditionalOnExpression("${app.reactive.enabled:false} and !${app.sharding.enabled:false}")
+public class CustomerStreamController {
+
+    private final ReactiveCustomerService reactiveCustomerService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream customers")
+    public Flux<CustomerDTO> streamAllCustomers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size,
+            @RequestParam(defaultValue = "lastName") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return reactiveCustomerService.streamAllCustomers(sort, page, size);
+    }
+
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream customers by status")
+    public Flux<CustomerDTO> streamCustomersByStatus(
+            @Parameter(description = "Customer status") @PathVariable CustomerStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size) {
+        return reactiveCustomerService.streamCustomersByStatus(status, page, size);
+    }
+
+    @GetMapping(value = "/assigned/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream customers assigned to a specific user")
+    public Flux<CustomerDTO> streamCustomersByAssignedUser(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size) {
+        return reactiveCustomerService.streamCustomersByAssignedUser(userId, page, size);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream customers matching a search term")
+    public Flux<CustomerDTO> streamSearchCustomers(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size) {
+        return reactiveCustomerService.streamSearchCustomers(term, page, size);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.crmsystem.customer.controller;
+
+import com.crmsystem.customer.dto.DuplicateCandidateDTO;
+import com.crmsystem.customer.dto.DuplicateScanStatus;
+import com.crmsystem.customer.service.DuplicateCustomerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers/duplicates")
+@RequiredArgsConstructor
+@Tag(name = "Duplicate Customers", description = "Duplicate customer detection and review")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class DuplicateCustomerController {
+
+    private final DuplicateCustomerService duplicateCustomerService;
+
+    @PostMapping("/scan")
+    @Operation(summary = "Start a duplicate scan in the background")
+    public ResponseEntity<DuplicateScanStatus> startScan() {
+        return new ResponseEntity<>(duplicateCustomerService.startScan(), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/scan")
+    @Operation(summary = "Get the state of the current or last duplicate scan")
+    public ResponseEntity<DuplicateScanStatus> getScanStatus() {
+        return ResponseEntity.ok(duplicateCustomerService.getScanStatus());
+    }
+
+    @GetMapping
+    @Operation(summary = "Get unreviewed duplicate candidates, highest score first")
+    public ResponseEntity<Page<DuplicateCandidateDTO>> getCandidates(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(duplicateCustomerService.getCandidates(PageRequest.of(page, size)));
+    }
+
+    @PostMapping("/{id}/dismiss")
+    @Operation(summary = "Mark a candidate as not a duplicate")
+    public ResponseEntity<Void> dismissCandidate(
+            @Parameter(description = "Candidate ID") @PathVariable Long id) {
+        duplicateCustomerService.dismissCandidate(id);
+        return ResponseEntity.noContent().build();
+    }
+} 
\ No newline at end of file
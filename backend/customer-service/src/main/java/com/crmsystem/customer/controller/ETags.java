@@ -0,0 +1,62 @@
+package com.crmsystem.customer.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+// Entity tags for conditional GETs. If-None-Match uses the weak comparison, so W/ on either side is ignored.
+final class ETags {
+
+    private ETags() {
+    }
+
+    // A customer's version, which every write (bulk SQL included) increments, then a digest of the headers
+    // that choose the representation: JSON, CBOR and Smile bodies, gzipped or not, are different bytes and
+    // so need different strong tags. If-Match only checks the version part.
+    static String strong(long version, HttpServletRequest request) {
+        String representation = digest(String.valueOf(request.getHeader(HttpHeaders.ACCEPT)),
+                String.valueOf(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+        return "\"" + version + "-" + representation.substring(0, 12) + "\"";
+    }
+
+    // Over parts that may contain quotes, e.g. the Accept header, hence the digest
+    static String weak(String... parts) {
+        return "W/\"" + digest(parts) + "\"";
+    }
+
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String opaqueTag = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || opaque(trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Responses are negotiated (JSON, CBOR, Smile), so caches must keep one entry per Accept
+    static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String eTag, T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        return (eTag != null ? builder.eTag(eTag) : builder).body(body);
+    }
+
+    private static String digest(String... parts) {
+        return DigestUtils.md5DigestAsHex(String.join("\n", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+} 
\ No newline at end of file
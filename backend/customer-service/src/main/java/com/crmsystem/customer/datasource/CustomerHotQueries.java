@@ -0,0 +1,60 @@
+package com.crmsystem.customer.datasource;
+
+import com.crmsystem.common.datasource.HotQueries;
+import com.crmsystem.common.datasource.QueryPlanVerifier.HotQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Hot repository queries and the index each one needs, checked at startup by QueryPlanVerifier.
+// CustomerRepository.searchCustomers is left out on purpose: a contains-match on five columns can't use a
+// B-tree index; the listing's company prefix filter is the indexed alternative.
+@Component
+public class CustomerHotQueries implements HotQueries {
+
+    private static final LocalDateTime PROBE_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("CustomerRepository.existsByEmail", "customers", "email",
+                    "SELECT id FROM customers WHERE email = ?", "probe@example.com"),
+            new HotQuery("CustomerRepository.findEmailsAfter", "customers", "id",
+                    "SELECT id, email FROM customers WHERE id > ? ORDER BY id LIMIT 5000", 0L),
+            new HotQuery("CustomerRepository.findByStatus", "customers", "status",
+                    "SELECT * FROM customers WHERE status = ?", "LEAD"),
+            new HotQuery("CustomerRepository.countByStatus", "customers", "status",
+                    "SELECT COUNT(*) FROM customers WHERE status = ?", "LEAD"),
+            new HotQuery("CustomerRepository.findByAssignedUserId", "customers", "assigned_user_id",
+                    "SELECT * FROM customers WHERE assigned_user_id = ? LIMIT 10", 1L),
+            new HotQuery("CustomerRepository.findIdsAfter (reassign)", "customers", "assigned_user_id",
+                    "SELECT id FROM customers WHERE id > ? AND assigned_user_id = ? ORDER BY id LIMIT 1000", 0L, 1L),
+            new HotQuery("CustomerRepository.findIdsAfter (archive)", "customers", "status",
+                    "SELECT id FROM customers WHERE id > ? AND updated_at < ? AND status IN (?, ?) ORDER BY id LIMIT 1000",
+                    0L, PROBE_TIME, "INACTIVE", "LEAD"),
+            new HotQuery("CustomerRepository.findAll (lastName)", "customers", "last_name",
+                    "SELECT * FROM customers ORDER BY last_name, id LIMIT 10"),
+            new HotQuery("CustomerRepository.findAll (company prefix)", "customers", "company",
+                    "SELECT * FROM customers WHERE company LIKE ? ORDER BY company, id LIMIT 10", "acme%"),
+            new HotQuery("CustomerRepository.findAll (createdAt range)", "customers", "created_at",
+                    "SELECT * FROM customers WHERE created_at >= ? ORDER BY created_at, id LIMIT 10", PROBE_TIME),
+            new HotQuery("CustomerRepository.findAll (updatedAt range)", "customers", "updated_at",
+                    "SELECT * FROM customers WHERE updated_at >= ? ORDER BY updated_at, id LIMIT 10", PROBE_TIME),
+            new HotQuery("OutboxEventRepository.findUnpublished", "customer_outbox", "published_at",
+                    "SELECT * FROM customer_outbox WHERE published_at IS NULL ORDER BY id LIMIT 100"),
+            new HotQuery("OutboxEventRepository.deletePublishedBefore", "customer_outbox", "published_at",
+                    "SELECT id FROM customer_outbox WHERE published_at < ?", PROBE_TIME),
+            new HotQuery("ArchivedCustomerRepository.existsByEmail", "customers_archive", "email",
+                    "SELECT id FROM customers_archive WHERE email = ?", "probe@example.com"),
+            new HotQuery("ArchivedCustomerRepository.countByStatus", "customers_archive", "status",
+                    "SELECT COUNT(*) FROM customers_archive WHERE status = ?", "LEAD"),
+            new HotQuery("ArchivedCustomerRepository.findAll (lastName)", "customers_archive", "last_name",
+                    "SELECT * FROM customers_archive ORDER BY last_name, id LIMIT 10"),
+            new HotQuery("DuplicateCandidateRepository.findByStatus", "customer_duplicate_candidates", "status",
+                    "SELECT * FROM customer_duplicate_candidates WHERE status = ? ORDER BY score DESC, id LIMIT 20",
+                    "PENDING"));
+
+    @Override
+    public List<HotQuery> queries() {
+        return HOT_QUERIES;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.crmsystem.customer.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sends read-only transactions to a healthy replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known when the connection is fetched.
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<ReplicaNode> replicas,
+                                        ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaNode replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ReplicaNode replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection(username, password);
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private ReplicaNode selectReplica() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (!inTransaction || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (inTransaction) {
+                readYourWritesTracker.recordWrite();
+            }
+            return null;
+        }
+        if (readYourWritesTracker.withinWindow()) {
+            return null;
+        }
+        return pickLeastBusy();
+    }
+
+    // Power of two choices: sample two healthy replicas and take the one with fewer active connections
+    private ReplicaNode pickLeastBusy() {
+        List<ReplicaNode> healthy = replicas.stream().filter(ReplicaNode::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (healthy.size() == 1) {
+            return healthy.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ReplicaNode first = healthy.get(random.nextInt(healthy.size()));
+        ReplicaNode second = healthy.get(random.nextInt(healthy.size()));
+        return first.getActiveConnections() <= second.getActiveConnections() ? first : second;
+    }
+} 
\ No newline at end of file
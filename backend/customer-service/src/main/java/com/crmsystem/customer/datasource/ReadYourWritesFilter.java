@@ -0,0 +1,41 @@
+package com.crmsystem.customer.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Identifies the calling user for read-your-writes routing
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-User-Id";
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWritesTracker.bindClient(clientKey(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesTracker.clearClient();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        if (StringUtils.hasText(userId)) {
+            return "user:" + userId;
+        }
+        String authorization = request.getHeader("Authorization");
+        if (StringUtils.hasText(authorization)) {
+            return "token:" + authorization.hashCode();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.crmsystem.customer.datasource;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Remembers when each client last wrote, so its reads stay on the primary until replicas have caught up
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final LongSupplier windowMs;
+    private final int maxTrackedClients;
+
+    public ReadYourWritesTracker(LongSupplier windowMs, int maxTrackedClients) {
+        this.windowMs = windowMs;
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    public static void bindClient(String clientKey) {
+        CURRENT_CLIENT.set(clientKey);
+    }
+
+    public static void clearClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public void recordWrite() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null) {
+            return;
+        }
+        if (lastWrites.size() >= maxTrackedClients) {
+            prune();
+        }
+        lastWrites.put(client, System.currentTimeMillis());
+    }
+
+    public boolean withinWindow() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(client);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMs.getAsLong();
+    }
+
+    private void prune() {
+        long cutoff = System.currentTimeMillis() - windowMs.getAsLong();
+        for (Iterator<Long> it = lastWrites.values().iterator(); it.hasNext(); ) {
+            if (it.next() < cutoff) {
+                it.remove();
+            }
+        }
+    }
+} 
\ No newline at end of file
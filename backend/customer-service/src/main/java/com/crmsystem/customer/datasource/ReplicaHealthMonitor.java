@@ -0,0 +1,40 @@
+package com.crmsystem.customer.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+public class ReplicaHealthMonitor {
+
+    private final List<ReplicaNode> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    public ReplicaHealthMonitor(List<ReplicaNode> replicas, String lagQuery, long maxLagMs) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public List<ReplicaNode> replicas() {
+        return replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:2000}")
+    public void checkReplicas() {
+        replicas.forEach(replica -> replica.check(lagQuery, maxLagMs));
+    }
+
+    // Largest lag among replicas currently serving reads; bounds the read-your-writes window
+    public long maxHealthyLagMs() {
+        return replicas.stream()
+                .filter(ReplicaNode::isHealthy)
+                .mapToLong(ReplicaNode::getLagMs)
+                .max()
+                .orElse(0);
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+} 
\ No newline at end of file
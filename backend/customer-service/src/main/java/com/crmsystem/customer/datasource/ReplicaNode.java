@@ -0,0 +1,88 @@
+package com.crmsystem.customer.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+public class ReplicaNode {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    private volatile boolean healthy = true;
+    private volatile long lagMs;
+
+    public ReplicaNode(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    // Probes connectivity and, when a lag query is configured, replication delay in seconds
+    public void check(String lagQuery, long maxLagMs) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(1)) {
+                markDown("connection not valid");
+                return;
+            }
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                lagMs = queryLag(connection, lagQuery);
+                if (lagMs > maxLagMs) {
+                    markDown("replication lag " + lagMs + "ms exceeds " + maxLagMs + "ms");
+                    return;
+                }
+            }
+            if (!healthy) {
+                log.info("Read replica {} is healthy again", name);
+            }
+            healthy = true;
+        } catch (SQLException e) {
+            markDown(e.getMessage());
+        }
+    }
+
+    public void markDown(String reason) {
+        if (healthy) {
+            log.warn("Read replica {} marked down: {}", name, reason);
+        }
+        healthy = false;
+    }
+
+    private static long queryLag(Connection connection, String lagQuery) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+            double seconds = resultSet.getDouble(1);
+            // A NULL lag means the replica is not replicating at all
+            return resultSet.wasNull() ? Long.MAX_VALUE : (long) (seconds * 1000);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.crmsystem.customer.dedupe;
+
+// The columns duplicate detection reads, selected with a constructor expression so a full scan doesn't
+// build managed entities
+public record CustomerMatchFields(Long id, String firstName, String lastName, String email, String phone,
+                                  String company) {
+} 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.crmsystem.customer.dedupe;
+
+import com.crmsystem.customer.dedupe.MatchKeys.Fingerprint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Pairwise score in [0, 1]: a weighted mean of per-field similarities over the fields both customers have.
+// Names, email local parts and companies use Jaro-Winkler, which forgives the typos and short forms that
+// separate hand-entered duplicates; phone numbers only count when their digits match exactly.
+public final class CustomerSimilarity {
+
+    private static final double NAME_WEIGHT = 0.45;
+    private static final double COMPANY_WEIGHT = 0.2;
+    private static final double PHONE_WEIGHT = 0.2;
+    private static final double EMAIL_WEIGHT = 0.15;
+
+    // A field scoring at least this is listed as matched on the candidate
+    private static final double FIELD_MATCH = 0.9;
+
+    private CustomerSimilarity() {
+    }
+
+    public record Score(double value, List<String> matchedFields) {
+    }
+
+    public static Score score(Fingerprint a, Fingerprint b) {
+        double weighted = 0;
+        double weights = 0;
+        List<String> matched = new ArrayList<>(4);
+
+        double name = jaroWinkler(a.name(), b.name());
+        weighted += NAME_WEIGHT * name;
+        weights += NAME_WEIGHT;
+        if (name >= FIELD_MATCH) {
+            matched.add("name");
+        }
+        if (!a.company().isEmpty() && !b.company().isEmpty()) {
+            double company = jaroWinkler(a.company(), b.company());
+            weighted += COMPANY_WEIGHT * company;
+            weights += COMPANY_WEIGHT;
+            if (company >= FIELD_MATCH) {
+                matched.add("company");
+            }
+        }
+        if (!a.phone().isEmpty() && !b.phone().isEmpty()) {
+            boolean phone = a.phone().equals(b.phone());
+            weighted += phone ? PHONE_WEIGHT : 0;
+            weights += PHONE_WEIGHT;
+            if (phone) {
+                matched.add("phone");
+            }
+        }
+        if (!a.emailLocalPart().isEmpty() && !b.emailLocalPart().isEmpty()) {
+            double email = jaroWinkler(a.emailLocalPart(), b.emailLocalPart());
+            weighted += EMAIL_WEIGHT * email;
+            weights += EMAIL_WEIGHT;
+            if (email >= FIELD_MATCH) {
+                matched.add("email");
+            }
+        }
+        return new Score(weighted / weights, matched);
+    }
+
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < a.length(); i++) {
+            if (aMatched[i]) {
+                while (!bMatched[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        while (prefix < 4 && prefix < a.length() && prefix < b.length() && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+} 
\ No newline at end of file
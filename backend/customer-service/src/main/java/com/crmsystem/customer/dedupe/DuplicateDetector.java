@@ -0,0 +1,217 @@
+package com.crmsystem.customer.dedupe;
+
+import com.crmsystem.customer.dedupe.MatchKeys.Fingerprint;
+import com.crmsystem.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Finds likely duplicate customers in three steps:
+//  1. reads the customers table in keyset batches, keeping only normalised fingerprints;
+//  2. blocks them by company, phonetic name and phone digits: every blocking key becomes one long holding
+//     the upper bits of its hash above the fingerprint index, and sorting those longs lines blocks up as runs;
+//  3. scores every pair inside a block on a ForkJoinPool, splitting large blocks by rows.
+// A rare hash collision merges two blocks, which costs a few extra comparisons but can't hide a match.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class DuplicateDetector {
+
+    private static final int INDEX_BITS = 27;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    // Pairs per fork-join task before a block's rows are split further
+    private static final long PAIRS_PER_TASK = 50_000;
+
+    private final CustomerRepository customerRepository;
+    private final int readBatchSize;
+    private final int parallelism;
+    private final int maxBlockSize;
+    private final double threshold;
+    private final int maxCandidates;
+
+    private final Timer scanTimer;
+    private final Counter comparisonCounter;
+
+    public DuplicateDetector(CustomerRepository customerRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.customer.dedupe.read-batch-size:10000}") int readBatchSize,
+                             @Value("${app.customer.dedupe.parallelism:0}") int parallelism,
+                             @Value("${app.customer.dedupe.max-block-size:2000}") int maxBlockSize,
+                             @Value("${app.customer.dedupe.threshold:0.88}") double threshold,
+                             @Value("${app.customer.dedupe.max-candidates:100000}") int maxCandidates) {
+        this.customerRepository = customerRepository;
+        this.readBatchSize = readBatchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxBlockSize = maxBlockSize;
+        this.threshold = threshold;
+        this.maxCandidates = maxCandidates;
+
+        this.scanTimer = meterRegistry.timer("customer.dedupe.scan");
+        this.comparisonCounter = meterRegistry.counter("customer.dedupe.comparisons");
+    }
+
+    public record Candidate(long customerId, long duplicateId, double score, List<String> matchedFields) {
+    }
+
+    public record Result(int customers, int blocks, int oversizedBlocks, long comparisons, List<Candidate> candidates,
+                         long durationMs) {
+    }
+
+    public Result detect() {
+        long started = System.nanoTime();
+        List<Fingerprint> fingerprints = new ArrayList<>();
+        long[] keys = readFingerprints(fingerprints);
+
+        Arrays.parallelSort(keys);
+        List<int[]> blocks = new ArrayList<>();
+        int oversized = 0;
+        int runStart = 0;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i < keys.length && keys[i] >>> INDEX_BITS == keys[runStart] >>> INDEX_BITS) {
+                continue;
+            }
+            int size = i - runStart;
+            if (size > maxBlockSize) {
+                // Too common to tell anyone apart ("gmail", a switchboard number); the other keys still apply
+                oversized++;
+            } else if (size > 1) {
+                int[] block = new int[size];
+                for (int j = 0; j < size; j++) {
+                    block[j] = (int) (keys[runStart + j] & INDEX_MASK);
+                }
+                blocks.add(block);
+            }
+            runStart = i;
+        }
+
+        Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+        LongAdder comparisons = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<PairScoringTask> tasks = blocks.stream()
+                    .map(block -> new PairScoringTask(block, 0, block.length, fingerprints, candidates, comparisons))
+                    .toList();
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Candidate> ranked = candidates.values().stream()
+                .sorted(Comparator.comparingDouble(Candidate::score).reversed())
+                .limit(maxCandidates)
+                .toList();
+        long durationNanos = System.nanoTime() - started;
+        scanTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        comparisonCounter.increment(comparisons.sum());
+        log.info("Duplicate scan: {} customers, {} blocks ({} oversized skipped), {} comparisons, {} candidates",
+                fingerprints.size(), blocks.size(), oversized, comparisons.sum(), candidates.size());
+        return new Result(fingerprints.size(), blocks.size(), oversized, comparisons.sum(), ranked,
+                durationNanos / 1_000_000);
+    }
+
+    // Fills fingerprints in id order and returns the packed blocking keys
+    private long[] readFingerprints(List<Fingerprint> fingerprints) {
+        long[] keys = new long[1024];
+        int keyCount = 0;
+        long afterId = Long.MIN_VALUE;
+        List<CustomerMatchFields> batch;
+        do {
+            batch = customerRepository.findMatchFieldsAfter(afterId, PageRequest.of(0, readBatchSize));
+            for (CustomerMatchFields fields : batch) {
+                int index = fingerprints.size();
+                if (index > INDEX_MASK) {
+                    throw new IllegalStateException("Duplicate scan supports at most " + INDEX_MASK + " customers");
+                }
+                Fingerprint fingerprint = Fingerprint.of(fields);
+                fingerprints.add(fingerprint);
+                for (String key : MatchKeys.blockingKeys(fingerprint,
+                        MatchKeys.phoneticName(fields.firstName(), fields.lastName()))) {
+                    if (keyCount == keys.length) {
+                        keys = Arrays.copyOf(keys, keyCount * 2);
+                    }
+                    keys[keyCount++] = (MatchKeys.keyHash(key) & ~INDEX_MASK) | index;
+                }
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == readBatchSize);
+        return Arrays.copyOf(keys, keyCount);
+    }
+
+    // Scores rows [from, to) of a block against every later row of the same block
+    private final class PairScoringTask extends RecursiveAction {
+
+        private final int[] block;
+        private final int from;
+        private final int to;
+        private final List<Fingerprint> fingerprints;
+        private final Map<Long, Candidate> candidates;
+        private final LongAdder comparisons;
+
+        PairScoringTask(int[] block, int from, int to, List<Fingerprint> fingerprints,
+                        Map<Long, Candidate> candidates, LongAdder comparisons) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+            this.fingerprints = fingerprints;
+            this.candidates = candidates;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        protected void compute() {
+            long pairs = (long) (to - from) * (block.length - from);
+            if (pairs > PAIRS_PER_TASK && to - from > 1) {
+                // Earlier rows have more partners, so the split point sits before the middle
+                int middle = from + Math.max(1, (int) ((to - from) * 0.3));
+                invokeAll(new PairScoringTask(block, from, middle, fingerprints, candidates, comparisons),
+                        new PairScoringTask(block, middle, to, fingerprints, candidates, comparisons));
+                return;
+            }
+            long compared = 0;
+            for (int i = from; i < to; i++) {
+                Fingerprint a = fingerprints.get(block[i]);
+                for (int j = i + 1; j < block.length; j++) {
+                    if (block[j] == block[i]) {
+                        // Two keys of one customer collided
+                        continue;
+                    }
+                    Fingerprint b = fingerprints.get(block[j]);
+                    compared++;
+                    CustomerSimilarity.Score score = CustomerSimilarity.score(a, b);
+                    if (score.value() >= threshold) {
+                        Fingerprint low = a.id() < b.id() ? a : b;
+                        Fingerprint high = low == a ? b : a;
+                        // A pair sharing several blocking keys is scored once per block, with the same result
+                        candidates.putIfAbsent(pairKey(block[i], block[j]),
+                                new Candidate(low.id(), high.id(), score.value(), score.matchedFields()));
+                    }
+                }
+            }
+            comparisons.add(compared);
+        }
+    }
+
+    private static long pairKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.crmsystem.customer.dedupe;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Normalised forms of a customer's fields and the blocking keys derived from them. Only customers sharing at
+// least one blocking key are compared, which keeps the pair count close to linear in the customer count.
+public final class MatchKeys {
+
+    // Legal-form and filler words that don't distinguish companies ("ACME Inc." = "Acme")
+    private static final Set<String> COMPANY_NOISE = Set.of(
+            "the", "inc", "incorporated", "ltd", "limited", "llc", "llp", "lp", "corp", "corporation", "co",
+            "company", "gmbh", "ag", "sa", "sas", "srl", "bv", "nv", "plc", "pty", "group", "holding", "holdings");
+
+    // Trailing digits kept from a phone number, so "+44 20 7946 0000" and "020 7946 0000" agree
+    private static final int PHONE_DIGITS = 9;
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private MatchKeys() {
+    }
+
+    // Lower case, accents stripped, anything but letters and digits collapsed into single spaces
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = true;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space && Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+
+    public static String company(String company) {
+        StringBuilder key = new StringBuilder();
+        for (String word : normalize(company).split(" ")) {
+            if (!word.isEmpty() && !COMPANY_NOISE.contains(word)) {
+                key.append(word);
+            }
+        }
+        return key.toString();
+    }
+
+    public static String phoneDigits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return "";
+        }
+        return digits.length() > PHONE_DIGITS ? digits.substring(digits.length() - PHONE_DIGITS) : digits.toString();
+    }
+
+    public static String emailLocalPart(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.indexOf('@');
+        return normalize(at < 0 ? email : email.substring(0, at));
+    }
+
+    // Soundex of the last name plus the first initial: "Jon Smith" and "John Smyth" both give "S530j"
+    public static String phoneticName(String firstName, String lastName) {
+        String last = normalize(lastName).replace(" ", "");
+        String first = normalize(firstName);
+        if (last.isEmpty() || first.isEmpty()) {
+            return "";
+        }
+        return soundex(last) + first.charAt(0);
+    }
+
+    // Blocking keys, prefixed by kind so equal strings of different kinds don't collide
+    public static List<String> blockingKeys(Fingerprint fingerprint, String phoneticName) {
+        List<String> keys = new ArrayList<>(3);
+        if (!fingerprint.company().isEmpty()) {
+            keys.add("c:" + fingerprint.company());
+        }
+        if (!phoneticName.isEmpty()) {
+            keys.add("n:" + phoneticName);
+        }
+        if (!fingerprint.phone().isEmpty()) {
+            keys.add("p:" + fingerprint.phone());
+        }
+        return keys;
+    }
+
+    // 64-bit FNV-1a with a final avalanche, used to group equal blocking keys without keeping the strings
+    public static long keyHash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    static String soundex(String word) {
+        char[] code = {Character.toUpperCase(word.charAt(0)), '0', '0', '0'};
+        char previous = soundexDigit(word.charAt(0));
+        int length = 1;
+        for (int i = 1; i < word.length() && length < code.length; i++) {
+            char c = word.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != previous) {
+                code[length++] = digit;
+            }
+            // h and w don't separate letters with the same code, vowels do
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        return new String(code);
+    }
+
+    private static char soundexDigit(char c) {
+        return switch (c) {
+            case 'b', 'f', 'p', 'v' -> '1';
+            case 'c', 'g', 'j', 'k', 'q', 's', 'x', 'z' -> '2';
+            case 'd', 't' -> '3';
+            case 'l' -> '4';
+            case 'm', 'n' -> '5';
+            case 'r' -> '6';
+            default -> '0';
+        };
+    }
+
+    // Normalised fields of one customer, as compared by CustomerSimilarity
+    public record Fingerprint(long id, String name, String emailLocalPart, String phone, String company) {
+
+        public static Fingerprint of(CustomerMatchFields fields) {
+            String name = (normalize(fields.firstName()) + " " + normalize(fields.lastName())).trim();
+            return new Fingerprint(fields.id(), name, MatchKeys.emailLocalPart(fields.email()),
+                    MatchKeys.phoneDigits(fields.phone()), MatchKeys.company(fields.company()));
+        }
+    }
+} 
\ No newline at end of file
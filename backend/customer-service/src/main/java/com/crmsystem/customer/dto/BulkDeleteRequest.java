@@ -0,0 +1,22 @@
+package com.crmsystem.customer.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Exactly one of ids or filter
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequest {
+
+    @Size(max = 100000, message = "At most 100000 ids can be deleted per request, use a filter for more")
+    private List<Long> ids;
+
+    private CustomerFilter filter;
+} 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.crmsystem.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResult {
+
+    private String operation;
+
+    // Customers changed; deletes include archived customers
+    private long affected;
+
+    // Each chunk commits on its own, so a failed operation keeps the chunks before it
+    private int chunks;
+    private long durationMs;
+} 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.crmsystem.customer.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReassignRequest {
+
+    @NotNull(message = "fromUserId is required")
+    private Long fromUserId;
+
+    // null leaves the customers unassigned
+    private Long toUserId;
+} 
\ No newline at end of file
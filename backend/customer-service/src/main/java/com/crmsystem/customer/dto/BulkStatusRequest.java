@@ -0,0 +1,21 @@
+package com.crmsystem.customer.dto;
+
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRequest {
+
+    @NotNull(message = "filter is required")
+    private CustomerFilter filter;
+
+    @NotNull(message = "status is required")
+    private CustomerStatus status;
+} 
\ No newline at end of file
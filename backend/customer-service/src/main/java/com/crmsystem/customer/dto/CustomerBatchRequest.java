@@ -0,0 +1,22 @@
+package com.crmsystem.customer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchRequest {
+
+    @NotEmpty(message = "At least one customer is required")
+    @Size(max = 1000, message = "At most 1000 customers can be created per request")
+    private List<@Valid CustomerDTO> customers;
+} 
\ No newline at end of file
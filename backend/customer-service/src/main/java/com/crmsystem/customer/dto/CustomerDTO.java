@@ -37,6 +37,12 @@ public class CustomerDTO {
     private LocalDateTime updatedAt;
     private Long assignedUserId;
     
+    // Read-only; send it back as If-Match when patching
+    private Long version;
+    
+    // Read-only; true when served from the archive. Updating an archived customer moves it back.
+    private boolean archived;
+    
     // Helper method to get full name
     public String getFullName() {
         return firstName + " " + lastName;
@@ -0,0 +1,39 @@
+package com.crmsystem.customer.dto;
+
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Selects customers for listings and bulk operations. Each set criterion is one condition (a range counts as
+// one); conditions are combined with AND, or with OR when matchAny is set.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerFilter {
+
+    private CustomerStatus status;
+    private List<CustomerStatus> statusIn;
+    private Long assignedUserId;
+
+    // Prefix of the company name, so the company index can serve it
+    private String company;
+
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdBefore;
+    private LocalDateTime updatedFrom;
+    private LocalDateTime updatedBefore;
+
+    private boolean matchAny;
+
+    public boolean isEmpty() {
+        return status == null && (statusIn == null || statusIn.isEmpty()) && assignedUserId == null
+                && (company == null || company.isBlank()) && createdFrom == null && createdBefore == null
+                && updatedFrom == null && updatedBefore == null;
+    }
+} 
\ No newline at end of file
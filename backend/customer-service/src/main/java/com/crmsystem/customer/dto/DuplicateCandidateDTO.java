@@ -0,0 +1,25 @@
+package com.crmsystem.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+
+    private Long id;
+    private double score;
+    private List<String> matchedFields;
+    private LocalDateTime detectedAt;
+
+    // Current state of both customers; null if one was deleted or archived since the scan
+    private CustomerDTO customer;
+    private CustomerDTO duplicate;
+} 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.crmsystem.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateScanStatus {
+
+    private State state;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Filled in when the scan completes
+    private int customers;
+    private int blocks;
+    private int oversizedBlocks;
+    private long comparisons;
+    private int candidates;
+    private long durationMs;
+
+    private String error;
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+} 
\ No newline at end of file
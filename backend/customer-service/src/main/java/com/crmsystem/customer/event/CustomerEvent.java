@@ -0,0 +1,30 @@
+package com.crmsystem.customer.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerEvent {
+
+    // Outbox row id, unique per event; consumers de-duplicate redeliveries by it. Ids are allocated before
+    // commit, so a lower id of another customer can be relayed after a higher one: it is not a high-water mark.
+    // Within one customer ids follow commit order.
+    private Long sequence;
+
+    private CustomerEventType type;
+
+    // Null for ARCHIVED, which covers several customers
+    private Long customerId;
+
+    // JSON snapshot of the customer after the change (null for deletes; the archived ids for ARCHIVED)
+    private String payload;
+
+    private LocalDateTime occurredAt;
+} 
\ No newline at end of file
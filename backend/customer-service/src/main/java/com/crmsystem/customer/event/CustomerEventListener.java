@@ -0,0 +1,13 @@
+package com.crmsystem.customer.event;
+
+import java.util.List;
+
+// Consumer of customer change events relayed from the outbox.
+// Delivery is at-least-once, so listeners de-duplicate by event id (CustomerEvent.sequence); a listener
+// that throws causes the whole batch to be redelivered on the next relay cycle. Events for one customer
+// arrive in the order their changes committed; events for different customers may not (see OutboxRelay).
+// Redeliveries can repeat events a listener has already seen after newer ones.
+public interface CustomerEventListener {
+
+    void onEvents(List<CustomerEvent> events);
+} 
\ No newline at end of file
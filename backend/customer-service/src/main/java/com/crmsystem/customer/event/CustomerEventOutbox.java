@@ -0,0 +1,43 @@
+package com.crmsystem.customer.event;
+
+import com.crmsystem.customer.cache.CustomerChangeCounter;
+import com.crmsystem.customer.model.OutboxEvent;
+import com.crmsystem.customer.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final CustomerChangeCounter customerChangeCounter;
+
+    // Must join the caller's transaction so the event commits or rolls back with the change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CustomerEventType type, Long customerId, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateId(customerId)
+                .eventType(type)
+                .payload(toJson(payload))
+                .build();
+        outboxEventRepository.save(event);
+        customerChangeCounter.changedOnCommit();
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+} 
\ No newline at end of file
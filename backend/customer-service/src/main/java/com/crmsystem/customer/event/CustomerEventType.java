@@ -0,0 +1,10 @@
+package com.crmsystem.customer.event;
+
+public enum CustomerEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // One per archived chunk, for the whole chunk: customerId is null and the payload is {"customerIds": [...]}.
+    // Restoring needs no event of its own, it only happens as part of a write, which records UPDATED.
+    ARCHIVED
+} 
\ No newline at end of file
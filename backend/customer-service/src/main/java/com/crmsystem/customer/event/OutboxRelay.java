@@ -0,0 +1,130 @@
+package com.crmsystem.customer.event;
+
+import com.crmsystem.customer.model.OutboxEvent;
+import com.crmsystem.customer.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Every replica polls, but the batch is read with FOR UPDATE NOWAIT, so whichever replica locks the oldest
+// undelivered events relays them and the others sit the cycle out. Writes to one customer serialize on its row
+// lock, so its events get outbox ids in commit order and are delivered in that order.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<CustomerEventListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionHours;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong lastPublishedSequence = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<CustomerEventListener> listeners,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+
+        this.publishedCounter = meterRegistry.counter("customer.outbox.published");
+        this.failureCounter = meterRegistry.counter("customer.outbox.delivery.failures");
+        Gauge.builder("customer.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Events written but not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("customer.outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest undelivered event")
+                .register(meterRegistry);
+        Gauge.builder("customer.outbox.sequence", lastPublishedSequence, AtomicLong::get)
+                .description("Sequence number of the last delivered event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> relayBatch());
+            } while (delivered != null && delivered == batchSize);
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("Outbox is being relayed by another replica");
+        } catch (RuntimeException e) {
+            // Batch stays unpublished and is retried on the next cycle
+            failureCounter.increment();
+            log.warn("Outbox delivery failed, will retry: {}", e.getMessage());
+        }
+        updateLag();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered outbox events", purged);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CustomerEvent> events = batch.stream().map(this::toCustomerEvent).toList();
+        for (CustomerEventListener listener : listeners) {
+            listener.onEvents(events);
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        publishedCounter.increment(batch.size());
+        lastPublishedSequence.set(ids.get(ids.size() - 1));
+        log.debug("Relayed {} outbox events up to sequence {}", batch.size(), lastPublishedSequence.get());
+        return batch.size();
+    }
+
+    private void updateLag() {
+        try {
+            pendingEvents.set(outboxEventRepository.countByPublishedAtIsNull());
+            lagMillis.set(outboxEventRepository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                    .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox lag: {}", e.getMessage());
+        }
+    }
+
+    private CustomerEvent toCustomerEvent(OutboxEvent event) {
+        return CustomerEvent.builder()
+                .sequence(event.getId())
+                .type(event.getEventType())
+                .customerId(event.getAggregateId())
+                .payload(event.getPayload())
+                .occurredAt(event.getCreatedAt())
+                .build();
+    }
+} 
\ No newline at end of file
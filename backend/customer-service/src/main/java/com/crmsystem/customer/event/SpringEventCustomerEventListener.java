@@ -0,0 +1,22 @@
+package com.crmsystem.customer.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Republishes relayed events on the application event bus for @EventListener consumers
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.spring-events.enabled", havingValue = "true", matchIfMissing = true)
+public class SpringEventCustomerEventListener implements CustomerEventListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void onEvents(List<CustomerEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+} 
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.crmsystem.customer.exception;
 
+import com.crmsystem.common.datasource.StatementBudgetExceededException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,6 +34,71 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
     
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequestException(
+            BadRequestException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(ex.getMessage())
+                .path(request.getDescription(false))
+                .build();
+                
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
+    // Email is the only unique customer column. GET /email-exists (and the filter in front of it) can miss a
+    // concurrent write on another replica, so the unique index has the last word and a duplicate that gets past
+    // it is a 400 like any other invalid input. The driver's message names tables and SQL and is not passed on
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message("A customer with this email already exists")
+                .path(request.getDescription(false))
+                .build();
+                
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
+    // A stale If-Match, or a concurrent update that committed between our read and our write
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            RuntimeException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex instanceof PreconditionFailedException ? ex.getMessage()
+                        : "Customer was modified concurrently, reload it and retry")
+                .path(request.getDescription(false))
+                .build();
+                
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionRequiredException(
+            PreconditionRequiredException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_REQUIRED.value())
+                .error("Precondition Required")
+                .message(ex.getMessage())
+                .path(request.getDescription(false))
+                .build();
+                
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_REQUIRED);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(
@@ -46,9 +114,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
     
+    // Only thrown with app.jdbc.statement-budget.fail=true: the code path issued too many statements, which is
+    // a server fault and not something the client can fix by retrying
+    @ExceptionHandler(StatementBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleStatementBudgetExceededException(
+            StatementBudgetExceededException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .error("Statement Budget Exceeded")
+                .message(ex.getMessage())
+                .path(request.getDescription(false))
+                .build();
+                
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
             Exception ex, WebRequest request) {
+        
+        // Hibernate and Spring wrap the budget exception thrown from the JDBC proxy several levels deep
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof StatementBudgetExceededException budgetExceeded) {
+                return handleStatementBudgetExceededException(budgetExceeded, request);
+            }
+        }
             
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
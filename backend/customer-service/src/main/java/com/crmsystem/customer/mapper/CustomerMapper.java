@@ -1,7 +1,9 @@
 package com.crmsystem.customer.mapper;
 
 import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.model.ArchivedCustomer;
 import com.crmsystem.customer.model.Customer;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 @Component
 public class CustomerMapper {
 
+    @Timed("customer.mapping")
     public CustomerDTO toDTO(Customer customer) {
         if (customer == null) {
             return null;
@@ -27,6 +30,30 @@ public class CustomerMapper {
                 .createdAt(customer.getCreatedAt())
                 .updatedAt(customer.getUpdatedAt())
                 .assignedUserId(customer.getAssignedUserId())
+                .version(customer.getVersion())
+                .build();
+    }
+
+    @Timed("customer.mapping")
+    public CustomerDTO toDTO(ArchivedCustomer customer) {
+        if (customer == null) {
+            return null;
+        }
+        
+        return CustomerDTO.builder()
+                .id(customer.getId())
+                .firstName(customer.getFirstName())
+                .lastName(customer.getLastName())
+                .email(customer.getEmail())
+                .phone(customer.getPhone())
+                .company(customer.getCompany())
+                .status(customer.getStatus())
+                .notes(customer.getNotes())
+                .createdAt(customer.getCreatedAt())
+                .updatedAt(customer.getUpdatedAt())
+                .assignedUserId(customer.getAssignedUserId())
+                .version(customer.getVersion())
+                .archived(true)
                 .build();
     }
 
@@ -48,6 +75,7 @@ public class CustomerMapper {
                 .build();
     }
 
+    @Timed("customer.mapping")
     public List<CustomerDTO> toDTOList(List<Customer> customers) {
         return customers.stream()
                 .map(this::toDTO)
@@ -64,4 +92,16 @@ public class CustomerMapper {
         if (dto.getNotes() != null) entity.setNotes(dto.getNotes());
         if (dto.getAssignedUserId() != null) entity.setAssignedUserId(dto.getAssignedUserId());
     }
+    
+    // Copies every writable field, nulls included: a merge patch clears a field by sending null
+    public void copyWritableFields(CustomerDTO dto, Customer entity) {
+        entity.setFirstName(dto.getFirstName());
+        entity.setLastName(dto.getLastName());
+        entity.setEmail(dto.getEmail());
+        entity.setPhone(dto.getPhone());
+        entity.setCompany(dto.getCompany());
+        entity.setStatus(dto.getStatus());
+        entity.setNotes(dto.getNotes());
+        entity.setAssignedUserId(dto.getAssignedUserId());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.crmsystem.customer.mapper;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Applies an RFC 7396 JSON merge patch to a customer. Customers are flat, so a merge patch is simply a set of
+// field assignments, where null clears the field.
+@Component
+@RequiredArgsConstructor
+public class CustomerMergePatcher {
+
+    private static final Set<String> WRITABLE_FIELDS = Set.of(
+            "firstName", "lastName", "email", "phone", "company", "status", "notes", "assignedUserId");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    // Returns the patched copy and the names of the fields whose value actually changed
+    public Result apply(CustomerDTO current, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        Set<String> rejected = new TreeSet<>();
+        for (Iterator<String> names = mergePatch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!WRITABLE_FIELDS.contains(name)) {
+                rejected.add(name);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new BadRequestException("Fields cannot be patched: " + String.join(", ", rejected));
+        }
+
+        CustomerDTO patched;
+        try {
+            patched = objectMapper.readerForUpdating(objectMapper.convertValue(current, CustomerDTO.class))
+                    .readValue(mergePatch);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid merge patch: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new BadRequestException("Invalid merge patch: " + e.getMessage());
+        }
+
+        Set<String> violations = new TreeSet<>();
+        for (ConstraintViolation<CustomerDTO> violation : validator.validate(patched)) {
+            violations.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(String.join(", ", violations));
+        }
+
+        JsonNode before = objectMapper.valueToTree(current);
+        JsonNode after = objectMapper.valueToTree(patched);
+        Set<String> changed = WRITABLE_FIELDS.stream()
+                .filter(field -> !before.path(field).equals(after.path(field)))
+                .collect(Collectors.toSet());
+        return new Result(patched, changed);
+    }
+
+    public record Result(CustomerDTO customer, Set<String> changedFields) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.crmsystem.customer.metrics;
+
+import com.crmsystem.customer.cache.MeteredConcurrentMapCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+// Publishes the standard cache.gets/cache.puts/cache.evictions/cache.size meters plus cache.hit.ratio
+// and the single-flight / stale-while-revalidate counters
+public class ConcurrentMapCacheMeterBinder extends CacheMeterBinder<MeteredConcurrentMapCache> {
+
+    public ConcurrentMapCacheMeterBinder(MeteredConcurrentMapCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        MeteredConcurrentMapCache cache = getCache();
+        return cache != null ? cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        MeteredConcurrentMapCache cache = getCache();
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        MeteredConcurrentMapCache cache = getCache();
+        return cache != null ? cache.missCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        MeteredConcurrentMapCache cache = getCache();
+        return cache != null ? cache.evictionCount() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        MeteredConcurrentMapCache cache = getCache();
+        return cache != null ? cache.putCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.hit.ratio", this, binder -> {
+                    long hits = binder.hitCount();
+                    Long misses = binder.missCount();
+                    long total = hits + (misses != null ? misses : 0);
+                    return total == 0 ? Double.NaN : (double) hits / total;
+                })
+                .tags(getTagsWithCacheName())
+                .description("Share of lookups served from the cache since startup")
+                .register(registry);
+        FunctionCounter.builder("cache.loads.coalesced", getCache(), MeteredConcurrentMapCache::coalescedCount)
+                .tags(getTagsWithCacheName())
+                .description("Misses that waited for another caller's load of the same key instead of loading")
+                .register(registry);
+        FunctionCounter.builder("cache.loads.timeouts", getCache(), MeteredConcurrentMapCache::loadTimeoutCount)
+                .tags(getTagsWithCacheName())
+                .description("Waiters that gave up on a shared load and loaded on their own")
+                .register(registry);
+        FunctionCounter.builder("cache.stale.served", getCache(), MeteredConcurrentMapCache::staleServedCount)
+                .tags(getTagsWithCacheName())
+                .description("Expired entries returned while a background refresh ran")
+                .register(registry);
+        FunctionCounter.builder("cache.refreshes", getCache(), MeteredConcurrentMapCache::refreshCount)
+                .tags(getTagsWithCacheName())
+                .description("Background refreshes started")
+                .register(registry);
+        FunctionCounter.builder("cache.refreshes.failed", getCache(), MeteredConcurrentMapCache::refreshFailureCount)
+                .tags(getTagsWithCacheName())
+                .register(registry);
+    }
+} 
\ No newline at end of file
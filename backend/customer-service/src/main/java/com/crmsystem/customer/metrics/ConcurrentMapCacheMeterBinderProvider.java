@@ -0,0 +1,14 @@
+package com.crmsystem.customer.metrics;
+
+import com.crmsystem.customer.cache.MeteredConcurrentMapCache;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+public class ConcurrentMapCacheMeterBinderProvider implements CacheMeterBinderProvider<MeteredConcurrentMapCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(MeteredConcurrentMapCache cache, Iterable<Tag> tags) {
+        return new ConcurrentMapCacheMeterBinder(cache, tags);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.crmsystem.customer.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// http.server.serialization timers of one wire format, per body type
+class SerializationTimers {
+
+    private final MeterRegistry meterRegistry;
+    private final String format;
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    SerializationTimers(MeterRegistry meterRegistry, String format) {
+        this.meterRegistry = meterRegistry;
+        this.format = format;
+    }
+
+    Timer forBody(Object body) {
+        return timers.computeIfAbsent(body.getClass(), bodyType -> Timer.builder("http.server.serialization")
+                .description("Time spent writing response bodies")
+                .tag("type", bodyType.getSimpleName())
+                .tag("format", format)
+                .register(meterRegistry));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.crmsystem.customer.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// CBOR counterpart of TimedJackson2HttpMessageConverter; replaces the default CBOR converter
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(meterRegistry, "cbor");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(timers.forBody(object));
+        }
+    }
+} 
\ No newline at end of file
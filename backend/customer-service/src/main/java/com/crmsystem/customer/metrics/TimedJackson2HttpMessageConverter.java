@@ -0,0 +1,34 @@
+package com.crmsystem.customer.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Times JSON response writing per body type, so serialization can be told apart from DB and mapping time.
+// Writes go to Tomcat's response buffer; only bodies larger than the buffer include socket time.
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(meterRegistry, "json");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(timers.forBody(object));
+        }
+    }
+} 
\ No newline at end of file
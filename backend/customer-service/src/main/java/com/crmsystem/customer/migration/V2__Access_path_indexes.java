@@ -0,0 +1,87 @@
+package com.crmsystem.customer.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+// One index per repository access path. Written in Java because databases created by ddl-auto=update may
+// already have some of them (from the entity @Index annotations) and neither MySQL nor H2 in MySQL mode has
+// CREATE INDEX IF NOT EXISTS. Keep in sync with the @Index annotations, which CustomerQueryPlanner reads,
+// and with QueryPlanVerifier, which checks the plans at startup.
+@Slf4j
+public class V2__Access_path_indexes extends BaseJavaMigration {
+
+    private record IndexDefinition(String table, String name, String columns) {
+    }
+
+    private static final List<IndexDefinition> INDEXES = List.of(
+            // Default listing sort (lastName, id); InnoDB appends the primary key to every secondary index
+            new IndexDefinition("customers", "idx_customers_last_name", "last_name"),
+            // Company prefix filter and sort
+            new IndexDefinition("customers", "idx_customers_company", "company"),
+            // findByStatus, countByStatus (index-only), status filters, and the archiver's
+            // "status IN (...) AND updated_at < ?" id scan (covering: status, updated_at, id)
+            new IndexDefinition("customers", "idx_customers_status_updated_at", "status, updated_at"),
+            // findByAssignedUserId and the bulk reassign id scan (covering: assigned_user_id, id)
+            new IndexDefinition("customers", "idx_customers_assigned_user_id", "assigned_user_id"),
+            new IndexDefinition("customers", "idx_customers_created_at", "created_at"),
+            new IndexDefinition("customers", "idx_customers_updated_at", "updated_at"),
+            // Relay poll (published_at IS NULL ORDER BY id), pending count and purge
+            new IndexDefinition("customer_outbox", "idx_customer_outbox_published_at", "published_at"),
+            new IndexDefinition("customers_archive", "idx_customers_archive_email", "email"),
+            new IndexDefinition("customers_archive", "idx_customers_archive_status", "status"),
+            // includeArchived listings merge the archive in the default sort order
+            new IndexDefinition("customers_archive", "idx_customers_archive_last_name", "last_name"),
+            // Review list: pending candidates by score
+            new IndexDefinition("customer_duplicate_candidates", "idx_duplicate_status_score", "status, score"));
+
+    // Leading-column duplicates of the indexes above, created by earlier ddl-auto runs
+    private static final List<IndexDefinition> SUPERSEDED = List.of(
+            new IndexDefinition("customers", "idx_customers_status", "status"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        boolean mysql = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        try (Statement statement = connection.createStatement()) {
+            for (IndexDefinition index : INDEXES) {
+                if (!exists(connection, index)) {
+                    log.info("Creating index {} on {} ({})", index.name(), index.table(), index.columns());
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table() + " (" + index.columns() + ")");
+                }
+            }
+            for (IndexDefinition index : SUPERSEDED) {
+                if (exists(connection, index)) {
+                    log.info("Dropping superseded index {} on {}", index.name(), index.table());
+                    statement.execute(mysql
+                            ? "ALTER TABLE " + index.table() + " DROP INDEX " + index.name()
+                            : "DROP INDEX " + index.name());
+                }
+            }
+        }
+    }
+
+    private static boolean exists(Connection connection, IndexDefinition index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted identifiers are stored lower case by MySQL and upper case by H2
+        for (String table : List.of(index.table(), index.table().toUpperCase(Locale.ROOT))) {
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, false, true)) {
+                while (indexes.next()) {
+                    if (index.name().equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.crmsystem.customer.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+// Columns added to existing tables since ddl-auto=update stopped managing the schema. A database created by
+// ddl-auto before the optimistic-locking version column has a customers table that V1 leaves alone (IF NOT
+// EXISTS), so the column is added here when missing; existing rows start at version 0. Written in Java for
+// the same reason as V2: neither MySQL nor H2 in MySQL mode has ADD COLUMN IF NOT EXISTS.
+@Slf4j
+public class V3__Customer_version_column extends BaseJavaMigration {
+
+    private record ColumnDefinition(String table, String name, String definition) {
+    }
+
+    private static final List<ColumnDefinition> COLUMNS = List.of(
+            // Customer.version (@Version)
+            new ColumnDefinition("customers", "version", "BIGINT NOT NULL DEFAULT 0"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (ColumnDefinition column : COLUMNS) {
+                if (!exists(connection, column)) {
+                    log.info("Adding column {}.{} ({})", column.table(), column.name(), column.definition());
+                    statement.execute("ALTER TABLE " + column.table() + " ADD COLUMN " + column.name() + " "
+                            + column.definition());
+                }
+            }
+        }
+    }
+
+    private static boolean exists(Connection connection, ColumnDefinition column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted identifiers are stored lower case by MySQL and upper case by H2
+        for (String table : List.of(column.table(), column.table().toUpperCase(Locale.ROOT))) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (columns.next()) {
+                    if (column.name().equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+} 
\ No newline at end of file
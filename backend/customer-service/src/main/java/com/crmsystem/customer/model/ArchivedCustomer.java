@@ -0,0 +1,61 @@
+package com.crmsystem.customer.model;
+
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cold copy of a customer nobody has touched for a long time; same id and columns as customers.
+// Rows move in and out with set-based SQL (see ArchivedCustomerRepository), never through this entity.
+@Entity
+@Table(name = "customers_archive", indexes = {
+        @Index(name = "idx_customers_archive_email", columnList = "email"),
+        @Index(name = "idx_customers_archive_status", columnList = "status"),
+        @Index(name = "idx_customers_archive_last_name", columnList = "last_name")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedCustomer {
+
+    @Id
+    private Long id;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private String company;
+
+    @Enumerated(EnumType.STRING)
+    private CustomerStatus status;
+
+    @Column(length = 1000)
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "assigned_user_id")
+    private Long assignedUserId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+} 
\ No newline at end of file
@@ -8,13 +8,29 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+// Indexes are created by the Flyway migrations (see V2__Access_path_indexes); listing filters and sorts are
+// limited to their leading columns, see CustomerQueryPlanner
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_last_name", columnList = "last_name"),
+        @Index(name = "idx_customers_company", columnList = "company"),
+        @Index(name = "idx_customers_status_updated_at", columnList = "status, updated_at"),
+        @Index(name = "idx_customers_assigned_user_id", columnList = "assigned_user_id"),
+        @Index(name = "idx_customers_created_at", columnList = "created_at"),
+        // Also the archiver scan (app.archive.*)
+        @Index(name = "idx_customers_updated_at", columnList = "updated_at")
+})
+// UPDATEs list only the changed columns
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +38,13 @@ import java.time.LocalDateTime;
 public class Customer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "customer_id")
+    @GenericGenerator(name = "customer_id", type = CustomerIdGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "customer_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+            @Parameter(name = "force_table_use", value = "true")
+    })
     private Long id;
     
     @NotBlank(message = "First name is required")
@@ -59,6 +81,13 @@ public class Customer {
     @Column(name = "assigned_user_id")
     private Long assignedUserId;
     
+    // Optimistic lock, exposed to clients as the ETag; existing rows start at 0 (V3__Customer_version_column adds
+    // the column to databases created before it)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     public enum CustomerStatus {
         ACTIVE,
         INACTIVE,
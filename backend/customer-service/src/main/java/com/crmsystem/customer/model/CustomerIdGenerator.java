@@ -0,0 +1,27 @@
+package com.crmsystem.customer.model;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+// Table-backed pooled-lo allocator: each replica reserves a block of ids with one row update and hands them
+// out from memory, so inserts need no key round trip and Hibernate can batch them.
+// The block size can be overridden with spring.jpa.properties.crm.customer.id.block-size.
+public class CustomerIdGenerator extends SequenceStyleGenerator {
+
+    public static final String BLOCK_SIZE_SETTING = "crm.customer.id.block-size";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        Object blockSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .get(BLOCK_SIZE_SETTING);
+        if (blockSize != null) {
+            parameters.setProperty(INCREMENT_PARAM, blockSize.toString());
+        }
+        super.configure(type, parameters, serviceRegistry);
+    }
+} 
\ No newline at end of file
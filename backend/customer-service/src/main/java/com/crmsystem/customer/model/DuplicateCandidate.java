@@ -0,0 +1,52 @@
+package com.crmsystem.customer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A pair of customers the duplicate scan thinks are the same person, waiting for review.
+// customerId is always the lower of the two ids.
+@Entity
+@Table(name = "customer_duplicate_candidates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_duplicate_pair", columnNames = {"customer_id", "duplicate_id"}),
+        indexes = @Index(name = "idx_duplicate_status_score", columnList = "status, score"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCandidate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "duplicate_id", nullable = false)
+    private Long duplicateId;
+
+    @Column(nullable = false)
+    private double score;
+
+    // Comma-separated fields that matched on their own, e.g. "name,company"
+    @Column(name = "matched_fields", length = 64)
+    private String matchedFields;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+
+    public enum Status {
+        PENDING,
+        // Reviewed and not the same customer; later scans don't raise the pair again
+        DISMISSED
+    }
+} 
\ No newline at end of file
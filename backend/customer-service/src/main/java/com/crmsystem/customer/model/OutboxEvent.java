@@ -0,0 +1,45 @@
+package com.crmsystem.customer.model;
+
+import com.crmsystem.customer.event.CustomerEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "customer_outbox", indexes = {
+        @Index(name = "idx_customer_outbox_published_at", columnList = "published_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Doubles as the event sequence number handed to consumers
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private CustomerEventType eventType;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the relay has delivered the event to every listener
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+} 
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.ArchivedCustomer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.repository.CustomerRepository.CustomerEmail;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedCustomerRepository extends JpaRepository<ArchivedCustomer, Long>, ArchivedCustomerRepositoryCustom {
+
+    // Copies the still-cold rows of a chunk; the cutoff is re-checked so a row touched since it was selected stays
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO customers_archive (id, first_name, last_name, email, phone, company, status, notes, " +
+                   "created_at, updated_at, assigned_user_id, version, archived_at) " +
+                   "SELECT id, first_name, last_name, email, phone, company, status, notes, " +
+                   "created_at, updated_at, assigned_user_id, version, :now FROM customers " +
+                   "WHERE id IN (:ids) AND updated_at < :cutoff", nativeQuery = true)
+    int copyFromHot(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM customers WHERE id IN (:ids) AND updated_at < :cutoff", nativeQuery = true)
+    int deleteFromHot(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO customers (id, first_name, last_name, email, phone, company, status, notes, " +
+                   "created_at, updated_at, assigned_user_id, version) " +
+                   "SELECT id, first_name, last_name, email, phone, company, status, notes, " +
+                   "created_at, updated_at, assigned_user_id, version FROM customers_archive WHERE id = :id",
+           nativeQuery = true)
+    int copyToHot(@Param("id") Long id);
+
+    @Query("SELECT c.version FROM ArchivedCustomer c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    boolean existsByEmail(String email);
+
+    long countByStatus(CustomerStatus status);
+
+    // Same matching as CustomerRepository.searchCustomers
+    @Query("SELECT c FROM ArchivedCustomer c WHERE " +
+           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.company) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<ArchivedCustomer> searchArchived(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.email AS email FROM ArchivedCustomer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerEmail> findEmailsAfter(@Param("afterId") Long afterId, Pageable pageable);
+} 
\ No newline at end of file
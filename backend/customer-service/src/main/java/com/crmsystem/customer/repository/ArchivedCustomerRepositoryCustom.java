@@ -0,0 +1,12 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.ArchivedCustomer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ArchivedCustomerRepositoryCustom {
+
+    // Next keyset chunk of matching archived ids, in id order, without loading the entities
+    List<Long> findIdsAfter(Specification<ArchivedCustomer> spec, long afterId, int limit);
+} 
\ No newline at end of file
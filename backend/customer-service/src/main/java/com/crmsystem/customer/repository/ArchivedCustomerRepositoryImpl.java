@@ -0,0 +1,19 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.ArchivedCustomer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class ArchivedCustomerRepositoryImpl implements ArchivedCustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsAfter(Specification<ArchivedCustomer> spec, long afterId, int limit) {
+        return KeysetIds.after(entityManager, ArchivedCustomer.class, spec, afterId, limit);
+    }
+} 
\ No newline at end of file
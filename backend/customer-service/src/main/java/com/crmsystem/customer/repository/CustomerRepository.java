@@ -1,23 +1,48 @@
 package com.crmsystem.customer.repository;
 
+import com.crmsystem.customer.dedupe.CustomerMatchFields;
 import com.crmsystem.customer.model.Customer;
 import com.crmsystem.customer.model.Customer.CustomerStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        CustomerRepositoryCustom {
+    
+    // Validator for conditional GETs, read from the primary key index alone
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    // Versions of many customers at once, to check restored cache entries against
+    @Query("SELECT c.id AS id, c.version AS version FROM Customer c WHERE c.id IN :ids")
+    List<CustomerVersion> findVersionsByIdIn(@Param("ids") List<Long> ids);
     
     // Find by email
     Optional<Customer> findByEmail(String email);
     
+    // Presence check answered from the unique email index, without loading the entity
+    boolean existsByEmail(String email);
+    
+    // Keyset page of emails, for rebuilding the email-exists filter
+    @Query("SELECT c.id AS id, c.email AS email FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerEmail> findEmailsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Keyset page of the fields duplicate detection compares
+    @Query("SELECT new com.crmsystem.customer.dedupe.CustomerMatchFields(c.id, c.firstName, c.lastName, c.email, " +
+           "c.phone, c.company) FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerMatchFields> findMatchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     // Find by status
     List<Customer> findByStatus(CustomerStatus status);
     
@@ -35,4 +60,32 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     // Count customers by status
     Long countByStatus(CustomerStatus status);
+    
+    // Set-based updates for bulk operations; callers pass one bounded chunk of ids at a time
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Customer c SET c.assignedUserId = :userId, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int reassignByIds(@Param("ids") List<Long> ids, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Customer c SET c.status = :status, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int updateStatusByIds(@Param("ids") List<Long> ids, @Param("status") CustomerStatus status,
+                          @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Customer c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+    
+    interface CustomerEmail {
+        Long getId();
+        
+        String getEmail();
+    }
+    
+    interface CustomerVersion {
+        Long getId();
+        
+        Long getVersion();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CustomerRepositoryCustom {
+
+    // Next keyset chunk of matching ids, in id order, without loading the entities
+    List<Long> findIdsAfter(Specification<Customer> spec, long afterId, int limit);
+} 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsAfter(Specification<Customer> spec, long afterId, int limit) {
+        return KeysetIds.after(entityManager, Customer.class, spec, afterId, limit);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.exception.BadRequestException;
+import com.crmsystem.customer.model.Customer;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+// The database's ORDER BY for customer listings, in Java, for the places that merge separately sorted
+// results: shards in ShardedCustomerStore, hot and archived rows in CustomerArchive. A merge that orders
+// differently from SQL skips and repeats rows across pages, so:
+//  - strings compare case-insensitively, like MySQL's default _ci collations (H2 only with IGNORECASE=TRUE);
+//  - status is stored by name (EnumType.STRING) and sorts alphabetically, not by ordinal;
+//  - NULLs come first ascending and last descending, as on MySQL;
+//  - id breaks ties.
+public final class CustomerSortOrder {
+
+    // Every property CustomerQueryPlanner lets through (and firstName, which it doesn't)
+    private static final Map<String, Function<Customer, Object>> CUSTOMER_KEYS = Map.of(
+            "id", Customer::getId,
+            "firstName", Customer::getFirstName,
+            "lastName", Customer::getLastName,
+            "email", Customer::getEmail,
+            "company", Customer::getCompany,
+            "status", Customer::getStatus,
+            "assignedUserId", Customer::getAssignedUserId,
+            "createdAt", Customer::getCreatedAt,
+            "updatedAt", Customer::getUpdatedAt);
+
+    private static final Map<String, Function<CustomerDTO, Object>> DTO_KEYS = Map.of(
+            "id", CustomerDTO::getId,
+            "firstName", CustomerDTO::getFirstName,
+            "lastName", CustomerDTO::getLastName,
+            "email", CustomerDTO::getEmail,
+            "company", CustomerDTO::getCompany,
+            "status", CustomerDTO::getStatus,
+            "assignedUserId", CustomerDTO::getAssignedUserId,
+            "createdAt", CustomerDTO::getCreatedAt,
+            "updatedAt", CustomerDTO::getUpdatedAt);
+
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsFirst(CustomerSortOrder::compareValues);
+
+    private CustomerSortOrder() {
+    }
+
+    public static Comparator<Customer> forCustomers(Sort sort) {
+        return comparator(sort, CUSTOMER_KEYS, Customer::getId);
+    }
+
+    public static Comparator<CustomerDTO> forDTOs(Sort sort) {
+        return comparator(sort, DTO_KEYS, CustomerDTO::getId);
+    }
+
+    private static <T> Comparator<T> comparator(Sort sort, Map<String, Function<T, Object>> keys, Function<T, Long> id) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<T, Object> key = keys.get(order.getProperty());
+            if (key == null) {
+                throw new BadRequestException("Unsupported sort property: " + order.getProperty());
+            }
+            Comparator<T> next = Comparator.comparing(key, VALUE_ORDER);
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<T> byId = Comparator.comparing(id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof String a && right instanceof String b) {
+            return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+        }
+        if (left instanceof Enum<?> a && right instanceof Enum<?> b) {
+            return a.name().compareTo(b.name());
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.model.Customer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CustomerSpecifications {
+
+    // Not backslash: MySQL and H2 disagree on how to write it in a string literal
+    public static final char LIKE_ESCAPE = '!';
+
+    private CustomerSpecifications() {
+    }
+
+    // Typed by the caller, so the same filter also runs on ArchivedCustomer, which has the same properties
+    public static <T> Specification<T> matching(CustomerFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> conditions = new ArrayList<>();
+            if (filter.getStatus() != null) {
+                conditions.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getStatusIn() != null && !filter.getStatusIn().isEmpty()) {
+                conditions.add(root.get("status").in(filter.getStatusIn()));
+            }
+            if (filter.getAssignedUserId() != null) {
+                conditions.add(cb.equal(root.get("assignedUserId"), filter.getAssignedUserId()));
+            }
+            if (filter.getCompany() != null && !filter.getCompany().isBlank()) {
+                // Left-anchored, so it stays a range scan on the company index
+                conditions.add(cb.like(root.get("company"), likePrefix(filter.getCompany()), LIKE_ESCAPE));
+            }
+            addRange(conditions, root, cb, "createdAt", filter.getCreatedFrom(), filter.getCreatedBefore());
+            addRange(conditions, root, cb, "updatedAt", filter.getUpdatedFrom(), filter.getUpdatedBefore());
+
+            if (conditions.isEmpty()) {
+                return null;
+            }
+            Predicate[] predicates = conditions.toArray(new Predicate[0]);
+            return filter.isMatchAny() ? cb.or(predicates) : cb.and(predicates);
+        };
+    }
+
+    public static Specification<Customer> assignedTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("assignedUserId"), userId);
+    }
+
+    // Escapes LIKE wildcards in user input and appends the trailing %
+    public static String likePrefix(String prefix) {
+        return prefix.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    // [from, before) as one condition
+    private static <T> void addRange(List<Predicate> conditions, Root<T> root, CriteriaBuilder cb,
+                                     String property, LocalDateTime from, LocalDateTime before) {
+        if (from != null && before != null) {
+            conditions.add(cb.and(cb.greaterThanOrEqualTo(root.get(property), from),
+                    cb.lessThan(root.get(property), before)));
+        } else if (from != null) {
+            conditions.add(cb.greaterThanOrEqualTo(root.get(property), from));
+        } else if (before != null) {
+            conditions.add(cb.lessThan(root.get(property), before));
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.model.DuplicateCandidate;
+import com.crmsystem.customer.model.DuplicateCandidate.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DuplicateCandidateRepository extends JpaRepository<DuplicateCandidate, Long> {
+
+    Page<DuplicateCandidate> findByStatus(Status status, Pageable pageable);
+
+    @Query("SELECT d.customerId AS customerId, d.duplicateId AS duplicateId FROM DuplicateCandidate d " +
+           "WHERE d.status = :status")
+    List<CandidatePair> findPairsByStatus(@Param("status") Status status);
+
+    // A new scan replaces every unreviewed candidate
+    @Modifying
+    @Query("DELETE FROM DuplicateCandidate d WHERE d.status = :status")
+    int deleteByStatus(@Param("status") Status status);
+
+    interface CandidatePair {
+        Long getCustomerId();
+
+        Long getDuplicateId();
+    }
+} 
\ No newline at end of file
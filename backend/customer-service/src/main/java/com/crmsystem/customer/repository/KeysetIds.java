@@ -0,0 +1,30 @@
+package com.crmsystem.customer.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Keyset chunk of matching ids, shared by the hot and archived customer repositories
+final class KeysetIds {
+
+    private KeysetIds() {
+    }
+
+    static <T> List<Long> after(EntityManager entityManager, Class<T> entity, Specification<T> spec,
+                                long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entity);
+        Predicate keyset = cb.greaterThan(root.get("id"), afterId);
+        Predicate filter = spec.toPredicate(root, query, cb);
+        query.select(root.get("id"))
+                .where(filter != null ? cb.and(keyset, filter) : keyset)
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+} 
\ No newline at end of file
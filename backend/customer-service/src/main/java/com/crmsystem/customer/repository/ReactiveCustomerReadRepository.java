@@ -0,0 +1,117 @@
+package com.crmsystem.customer.repository;
+
+import com.crmsystem.customer.exception.BadRequestException;
+import com.crmsystem.customer.model.Customer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Non-blocking reads of the customers table over R2DBC. Rows are emitted as the driver receives them,
+// so a slow client applies backpressure all the way to the database cursor. Writes stay on JPA.
+public class ReactiveCustomerReadRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, phone, company, status, notes, "
+            + "created_at, updated_at, assigned_user_id, version";
+
+    // Column names only; which properties may be sorted on is CustomerQueryPlanner's call
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "company", "company",
+            "status", "status",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "assignedUserId", "assigned_user_id");
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCustomerReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Customer> findAll(Sort sort, int limit, long offset) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers" + orderBy(sort) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveCustomerReadRepository::toCustomer)
+                .all();
+    }
+
+    public Flux<Customer> findByStatus(CustomerStatus status, int limit, long offset) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE status = :status "
+                        + "ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("status", status.name())
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveCustomerReadRepository::toCustomer)
+                .all();
+    }
+
+    public Flux<Customer> findByAssignedUserId(Long userId, int limit, long offset) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE assigned_user_id = :userId "
+                        + "ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("userId", userId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveCustomerReadRepository::toCustomer)
+                .all();
+    }
+
+    // Same matching as CustomerRepository.searchCustomers
+    public Flux<Customer> search(String term, int limit, long offset) {
+        String pattern = "%" + term.toLowerCase(Locale.ROOT) + "%";
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE "
+                        + "LOWER(first_name) LIKE :term OR LOWER(last_name) LIKE :term OR LOWER(email) LIKE :term "
+                        + "OR LOWER(company) LIKE :term OR LOWER(phone) LIKE :term "
+                        + "ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("term", pattern)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveCustomerReadRepository::toCustomer)
+                .all();
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> terms = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Unsupported sort property: " + order.getProperty());
+            }
+            terms.add(column + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        // Tie-break on id so offsets are stable
+        if (sort.getOrderFor("id") == null) {
+            terms.add("id ASC");
+        }
+        return " ORDER BY " + String.join(", ", terms);
+    }
+
+    private static Customer toCustomer(Readable row) {
+        String status = row.get("status", String.class);
+        return Customer.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .phone(row.get("phone", String.class))
+                .company(row.get("company", String.class))
+                .status(status != null ? CustomerStatus.valueOf(status) : null)
+                .notes(row.get("notes", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .assignedUserId(row.get("assigned_user_id", Long.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+} 
\ No newline at end of file
@@ -1,31 +1,69 @@
 package com.crmsystem.customer.service;
 
+import com.crmsystem.customer.dto.BulkOperationResult;
 import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.CustomerFilter;
 import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface CustomerService {
     
     CustomerDTO createCustomer(CustomerDTO customerDTO);
     
+    List<CustomerDTO> createCustomers(List<CustomerDTO> customerDTOs);
+    
     CustomerDTO getCustomerById(Long id);
     
+    // Current version of a customer for revalidating its ETag, from the cache if present, without mapping it
+    Optional<Long> getCustomerVersion(Long id);
+    
+    // Bulk reads for refilling the customer cache; ids without a live customer are left out
+    List<CustomerDTO> getCustomersByIds(List<Long> ids);
+    
+    Map<Long, Long> getCustomerVersions(List<Long> ids);
+    
     CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO);
     
+    // Applies a JSON merge patch if the customer is still at expectedVersion, writing only changed columns
+    CustomerDTO patchCustomer(Long id, JsonNode mergePatch, long expectedVersion);
+    
     void deleteCustomer(Long id);
     
+    // Bulk operations run in committed chunks and return how many customers they changed
+    BulkOperationResult reassignCustomers(Long fromUserId, Long toUserId);
+    
+    BulkOperationResult updateCustomerStatus(CustomerFilter filter, CustomerStatus status);
+    
+    BulkOperationResult deleteCustomers(List<Long> ids);
+    
+    BulkOperationResult deleteCustomers(CustomerFilter filter);
+    
     Page<CustomerDTO> getAllCustomers(Pageable pageable);
     
+    // Listing for the API: the filter and sort are checked against the customer indexes first
+    Page<CustomerDTO> findCustomers(CustomerFilter filter, Pageable pageable);
+    
     List<CustomerDTO> getCustomersByStatus(CustomerStatus status);
     
     Page<CustomerDTO> getCustomersByAssignedUser(Long userId, Pageable pageable);
     
     Page<CustomerDTO> searchCustomers(String searchTerm, Pageable pageable);
     
+    // Listings that also cover archived customers; without an archive they are the plain listings
+    default Page<CustomerDTO> getAllCustomersIncludingArchived(Pageable pageable) {
+        return getAllCustomers(pageable);
+    }
+    
+    default Page<CustomerDTO> searchCustomersIncludingArchived(String searchTerm, Pageable pageable) {
+        return searchCustomers(searchTerm, pageable);
+    }
+    
     boolean existsByEmail(String email);
     
     Map<CustomerStatus, Long> getCustomerStatusCounts();
@@ -0,0 +1,19 @@
+package com.crmsystem.customer.service;
+
+import com.crmsystem.customer.dto.DuplicateCandidateDTO;
+import com.crmsystem.customer.dto.DuplicateScanStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface DuplicateCustomerService {
+    
+    // Starts a scan in the background unless one is running; returns the current scan either way
+    DuplicateScanStatus startScan();
+    
+    DuplicateScanStatus getScanStatus();
+    
+    // Unreviewed candidates, most likely duplicates first
+    Page<DuplicateCandidateDTO> getCandidates(Pageable pageable);
+    
+    void dismissCandidate(Long id);
+} 
\ No newline at end of file
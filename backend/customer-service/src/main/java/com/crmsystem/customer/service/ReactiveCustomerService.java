@@ -0,0 +1,17 @@
+package com.crmsystem.customer.service;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveCustomerService {
+
+    Flux<CustomerDTO> streamAllCustomers(Sort sort, int page, int size);
+
+    Flux<CustomerDTO> streamCustomersByStatus(CustomerStatus status, int page, int size);
+
+    Flux<CustomerDTO> streamCustomersByAssignedUser(Long userId, int page, int size);
+
+    Flux<CustomerDTO> streamSearchCustomers(String searchTerm, int page, int size);
+} 
\ No newline at end of file
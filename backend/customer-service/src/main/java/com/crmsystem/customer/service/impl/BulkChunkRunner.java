@@ -0,0 +1,134 @@
+package com.crmsystem.customer.service.impl;
+
+import com.crmsystem.common.datasource.RequestStatementCounter;
+import com.crmsystem.customer.cache.CustomerChangeCounter;
+import com.crmsystem.customer.cache.NearCacheInvalidator;
+import com.crmsystem.customer.dto.BulkOperationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Runs a bulk operation as a sequence of keyset chunks, each selected, changed and committed in its own short
+// transaction, so row locks are held for one chunk at a time and replicas never see one huge transaction.
+// Affected ids are evicted from the local customer cache after every commit; peers and listeners learn
+// about them from the outbox events the operation records per chunk.
+@Component
+@Slf4j
+public class BulkChunkRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final CustomerChangeCounter customerChangeCounter;
+    private final int chunkSize;
+    private final long pauseMs;
+
+    public BulkChunkRunner(TransactionTemplate transactionTemplate,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry,
+                           CustomerChangeCounter customerChangeCounter,
+                           @Value("${app.customer.bulk.chunk-size:1000}") int chunkSize,
+                           @Value("${app.customer.bulk.pause-ms:0}") long pauseMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.customerChangeCounter = customerChangeCounter;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @FunctionalInterface
+    public interface IdChunkSource {
+        // Next ids above afterId in ascending order, at most limit of them
+        List<Long> next(long afterId, int limit);
+    }
+
+    public BulkOperationResult run(String operation, IdChunkSource source, Function<List<Long>, Integer> apply) {
+        // A bulk request runs as many statements as it has chunks, by design
+        RequestStatementCounter.exemptCurrentRequest();
+        long started = System.currentTimeMillis();
+        long affected = 0;
+        int chunks = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            long cursor = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = source.next(cursor, chunkSize);
+                return new Chunk(ids, ids.isEmpty() ? 0 : apply.apply(ids));
+            });
+            if (chunk == null || chunk.ids().isEmpty()) {
+                break;
+            }
+            chunks++;
+            affected += chunk.affected();
+            evict(chunk.ids());
+            customerChangeCounter.changed();
+            if (chunk.ids().size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.ids().get(chunk.ids().size() - 1);
+            pause();
+        }
+        if (affected > 0) {
+            Cache statusCache = cacheManager.getCache(NearCacheInvalidator.CUSTOMER_STATUS_CACHE);
+            if (statusCache != null) {
+                statusCache.clear();
+            }
+        }
+
+        long durationMs = System.currentTimeMillis() - started;
+        meterRegistry.counter("customer.bulk.rows", "operation", operation).increment(affected);
+        log.info("Bulk {} affected {} customers in {} chunks ({} ms)", operation, affected, chunks, durationMs);
+        return BulkOperationResult.builder()
+                .operation(operation)
+                .affected(affected)
+                .chunks(chunks)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    // Ids of both sources in one ascending sequence; the sources must not share ids
+    public static IdChunkSource union(IdChunkSource first, IdChunkSource second) {
+        return (afterId, limit) -> Stream.concat(first.next(afterId, limit).stream(),
+                        second.next(afterId, limit).stream())
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+
+    // Source over an explicit id list
+    public static IdChunkSource ofIds(List<Long> ids) {
+        List<Long> sorted = ids.stream().distinct().sorted().toList();
+        return (afterId, limit) -> sorted.stream().filter(id -> id > afterId).limit(limit).toList();
+    }
+
+    private void evict(List<Long> ids) {
+        Cache cache = cacheManager.getCache(NearCacheInvalidator.CUSTOMER_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk operation interrupted", e);
+        }
+    }
+
+    private record Chunk(List<Long> ids, int affected) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.crmsystem.customer.service.impl;
+
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.exception.BadRequestException;
+import com.crmsystem.customer.model.Customer;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Vets a customer listing before it reaches the database, against the indexes declared on Customer:
+//  - sorting is only allowed on properties that lead an index (or the id), so ORDER BY ... LIMIT reads the
+//    index instead of sorting the table; id is appended as tiebreaker, which InnoDB keeps in every index;
+//  - the offset is capped, since skipping rows costs as much as reading them;
+//  - empty ranges are rejected instead of being sent to the database.
+// Every CustomerFilter criterion is on an indexed column (company only as a prefix), so filters can't
+// force a full scan by themselves.
+@Component
+public class CustomerQueryPlanner {
+
+    private final Set<String> sortableProperties;
+    private final int maxPageSize;
+    private final long maxOffset;
+
+    public CustomerQueryPlanner(@Value("${app.customer.query.max-page-size:200}") int maxPageSize,
+                                @Value("${app.customer.query.max-offset:10000}") long maxOffset) {
+        this.sortableProperties = indexedProperties(Customer.class);
+        this.maxPageSize = maxPageSize;
+        this.maxOffset = maxOffset;
+    }
+
+    public Pageable plan(CustomerFilter filter, Pageable pageable) {
+        if (pageable.getPageSize() > maxPageSize) {
+            throw new BadRequestException("Page size " + pageable.getPageSize() + " is above the maximum of " + maxPageSize);
+        }
+        checkOffset(pageable.getOffset());
+        checkRange("created", filter.getCreatedFrom(), filter.getCreatedBefore());
+        checkRange("updated", filter.getUpdatedFrom(), filter.getUpdatedBefore());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), planSort(pageable.getSort()));
+    }
+
+    // The offset and sort checks on their own, for callers with a page size limit of their own (the NDJSON streams)
+    public void checkOffset(long offset) {
+        if (offset > maxOffset) {
+            // Ranges on createdAt/updatedAt can walk any result set: sort by the column and move the range bound
+            // to the last row of the previous page
+            throw new BadRequestException("Pages beyond offset " + maxOffset + " are not served; narrow the filter "
+                    + "with a createdAt or updatedAt range (createdFrom/createdBefore, updatedFrom/updatedBefore)");
+        }
+    }
+
+    public Sort planSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!sortableProperties.contains(order.getProperty())) {
+                throw new BadRequestException("Sorting by " + order.getProperty() + " needs a full table sort; "
+                        + "sortable properties are " + sortableProperties);
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return sort;
+    }
+
+    public Set<String> getSortableProperties() {
+        return sortableProperties;
+    }
+
+    private static void checkRange(String name, LocalDateTime from, LocalDateTime before) {
+        if (from != null && before != null && !from.isBefore(before)) {
+            throw new BadRequestException(name + "From must be before " + name + "Before");
+        }
+    }
+
+    // Properties whose column is the id, unique, or the leading column of a declared index
+    static Set<String> indexedProperties(Class<?> entity) {
+        Map<String, String> propertiesByColumn = new HashMap<>();
+        Set<String> indexedColumns = new HashSet<>();
+        for (Field field : entity.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            String columnName = column != null && !column.name().isEmpty() ? column.name() : snakeCase(field.getName());
+            propertiesByColumn.put(columnName, field.getName());
+            if (field.isAnnotationPresent(Id.class) || (column != null && column.unique())) {
+                indexedColumns.add(columnName);
+            }
+        }
+        Table table = entity.getAnnotation(Table.class);
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                // "last_name ASC, first_name" -> last_name
+                indexedColumns.add(index.columnList().split(",")[0].trim().split("\\s+")[0]);
+            }
+        }
+
+        Set<String> properties = new TreeSet<>();
+        indexedColumns.forEach(column -> {
+            String property = propertiesByColumn.get(column);
+            if (property != null) {
+                properties.add(property);
+            }
+        });
+        return properties;
+    }
+
+    // Spring's default physical naming: camelCase fields become snake_case columns
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+} 
\ No newline at end of file
@@ -1,14 +1,28 @@
 package com.crmsystem.customer.service.impl;
 
+import com.crmsystem.customer.archive.CustomerArchive;
+import com.crmsystem.customer.cache.EmailExistenceFilter;
+import com.crmsystem.customer.cache.NearCacheInvalidator;
+import com.crmsystem.customer.dto.BulkOperationResult;
 import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.event.CustomerEventOutbox;
+import com.crmsystem.customer.event.CustomerEventType;
+import com.crmsystem.customer.exception.PreconditionFailedException;
 import com.crmsystem.customer.exception.ResourceNotFoundException;
 import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.mapper.CustomerMergePatcher;
 import com.crmsystem.customer.model.Customer;
 import com.crmsystem.customer.model.Customer.CustomerStatus;
 import com.crmsystem.customer.repository.CustomerRepository;
+import com.crmsystem.customer.repository.CustomerSpecifications;
 import com.crmsystem.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -16,18 +30,32 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerEventOutbox customerEventOutbox;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final CustomerMergePatcher customerMergePatcher;
+    private final BulkChunkRunner bulkChunkRunner;
+    private final CustomerArchive customerArchive;
+    private final CustomerQueryPlanner customerQueryPlanner;
+    private final CacheManager cacheManager;
 
     @Override
     @Transactional
@@ -40,17 +68,74 @@ public class CustomerServiceImpl implements CustomerService {
             customer.setStatus(CustomerStatus.LEAD);
         }
         
-        Customer savedCustomer = customerRepository.save(customer);
-        return customerMapper.toDTO(savedCustomer);
+        // Pooled ids defer the INSERT to the flush; flushed here so createdAt/updatedAt are set before mapping
+        Customer savedCustomer = customerRepository.saveAndFlush(customer);
+        CustomerDTO savedDTO = customerMapper.toDTO(savedCustomer);
+        customerEventOutbox.record(CustomerEventType.CREATED, savedCustomer.getId(), savedDTO);
+        emailExistenceFilter.add(savedDTO.getEmail());
+        return savedDTO;
     }
 
     @Override
-    @Cacheable(value = "customerCache", key = "#id")
+    @Transactional
+    public List<CustomerDTO> createCustomers(List<CustomerDTO> customerDTOs) {
+        log.info("Creating {} customers in batch", customerDTOs.size());
+        List<Customer> customers = customerDTOs.stream()
+                .map(customerMapper::toEntity)
+                .collect(Collectors.toList());
+        customers.forEach(customer -> {
+            customer.setId(null);
+            // Set default status if not provided
+            if (customer.getStatus() == null) {
+                customer.setStatus(CustomerStatus.LEAD);
+            }
+        });
+
+        // Ids come from a pre-allocated block, so saveAll is flushed as JDBC batches; the flush happens here
+        // rather than at commit so the mapped DTOs and outbox events carry createdAt/updatedAt
+        List<CustomerDTO> savedDTOs = customerMapper.toDTOList(customerRepository.saveAllAndFlush(customers));
+        savedDTOs.forEach(dto -> {
+            customerEventOutbox.record(CustomerEventType.CREATED, dto.getId(), dto);
+            emailExistenceFilter.add(dto.getEmail());
+        });
+        return savedDTOs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "customerCache", key = "#id", sync = true)
     public CustomerDTO getCustomerById(Long id) {
         log.info("Fetching customer with ID: {}", id);
-        Customer customer = customerRepository.findById(id)
+        return customerRepository.findById(id)
+                .map(customerMapper::toDTO)
+                .or(() -> customerArchive.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        return customerMapper.toDTO(customer);
+    }
+
+    // No transaction: a cached customer answers without touching a connection
+    @Override
+    public Optional<Long> getCustomerVersion(Long id) {
+        Cache cache = cacheManager.getCache(NearCacheInvalidator.CUSTOMER_CACHE);
+        CustomerDTO cached = cache != null ? cache.get(id, CustomerDTO.class) : null;
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        return customerRepository.findVersionById(id).or(() -> customerArchive.findVersionById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> getCustomersByIds(List<Long> ids) {
+        return customerRepository.findAllById(ids).stream()
+                .map(customerMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Long, Long> getCustomerVersions(List<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        customerRepository.findVersionsByIdIn(ids).forEach(row -> versions.put(row.getId(), row.getVersion()));
+        return versions;
     }
 
     @Override
@@ -58,12 +143,41 @@ public class CustomerServiceImpl implements CustomerService {
     @CacheEvict(value = "customerCache", key = "#id")
     public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) {
         log.info("Updating customer with ID: {}", id);
-        Customer existingCustomer = customerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        Customer existingCustomer = findForWrite(id);
         
         customerMapper.updateEntityFromDTO(customerDTO, existingCustomer);
         Customer updatedCustomer = customerRepository.save(existingCustomer);
-        return customerMapper.toDTO(updatedCustomer);
+        CustomerDTO updatedDTO = customerMapper.toDTO(updatedCustomer);
+        customerEventOutbox.record(CustomerEventType.UPDATED, id, updatedDTO);
+        emailExistenceFilter.add(updatedDTO.getEmail());
+        return updatedDTO;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "customerCache", key = "#id")
+    public CustomerDTO patchCustomer(Long id, JsonNode mergePatch, long expectedVersion) {
+        log.info("Patching customer with ID: {}", id);
+        Customer existingCustomer = findForWrite(id);
+        // Rows written before versioning have no version; they are served with ETag version 0
+        Long currentVersion = Objects.requireNonNullElse(existingCustomer.getVersion(), 0L);
+        if (!Objects.equals(currentVersion, expectedVersion)) {
+            throw new PreconditionFailedException("Customer " + id + " is at version " + currentVersion
+                    + ", not " + expectedVersion);
+        }
+
+        CustomerMergePatcher.Result patch = customerMergePatcher.apply(customerMapper.toDTO(existingCustomer), mergePatch);
+        if (patch.changedFields().isEmpty()) {
+            return customerMapper.toDTO(existingCustomer);
+        }
+        customerMapper.copyWritableFields(patch.customer(), existingCustomer);
+        // Flushed here so a concurrent writer surfaces as an optimistic lock failure (412) from this call;
+        // @DynamicUpdate limits the UPDATE to the changed columns and the version check
+        Customer updatedCustomer = customerRepository.saveAndFlush(existingCustomer);
+        CustomerDTO updatedDTO = customerMapper.toDTO(updatedCustomer);
+        customerEventOutbox.record(CustomerEventType.UPDATED, id, updatedDTO);
+        emailExistenceFilter.add(updatedDTO.getEmail());
+        return updatedDTO;
     }
 
     @Override
@@ -71,13 +185,79 @@ public class CustomerServiceImpl implements CustomerService {
     @CacheEvict(value = "customerCache", key = "#id")
     public void deleteCustomer(Long id) {
         log.info("Deleting customer with ID: {}", id);
-        if (!customerRepository.existsById(id)) {
+        if (customerRepository.existsById(id)) {
+            customerRepository.deleteById(id);
+        } else if (!customerArchive.delete(id)) {
             throw new ResourceNotFoundException("Customer not found with id: " + id);
         }
-        customerRepository.deleteById(id);
+        customerEventOutbox.record(CustomerEventType.DELETED, id, null);
+    }
+
+    // Writes go to the hot table, so an archived customer is moved back before it is changed
+    private Customer findForWrite(Long id) {
+        return customerRepository.findById(id)
+                .or(() -> customerArchive.restore(id) ? customerRepository.findById(id) : Optional.empty())
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    @Override
+    public BulkOperationResult reassignCustomers(Long fromUserId, Long toUserId) {
+        log.info("Reassigning customers of user {} to {}", fromUserId, toUserId);
+        return bulkChunkRunner.run("reassign",
+                (afterId, limit) -> customerRepository.findIdsAfter(
+                        CustomerSpecifications.assignedTo(fromUserId), afterId, limit),
+                ids -> {
+                    int updated = customerRepository.reassignByIds(ids, toUserId, LocalDateTime.now());
+                    recordUpdated(ids);
+                    return updated;
+                });
+    }
+
+    @Override
+    public BulkOperationResult updateCustomerStatus(CustomerFilter filter, CustomerStatus status) {
+        log.info("Setting status {} on customers matching {}", status, filter);
+        return bulkChunkRunner.run("status",
+                (afterId, limit) -> customerRepository.findIdsAfter(CustomerSpecifications.matching(filter), afterId, limit),
+                ids -> {
+                    int updated = customerRepository.updateStatusByIds(ids, status, LocalDateTime.now());
+                    recordUpdated(ids);
+                    return updated;
+                });
     }
 
     @Override
+    public BulkOperationResult deleteCustomers(List<Long> ids) {
+        log.info("Deleting {} customers by id", ids.size());
+        return bulkChunkRunner.run("delete", BulkChunkRunner.ofIds(ids), this::deleteChunk);
+    }
+
+    @Override
+    public BulkOperationResult deleteCustomers(CustomerFilter filter) {
+        log.info("Deleting customers matching {}", filter);
+        return bulkChunkRunner.run("delete", BulkChunkRunner.union(
+                (afterId, limit) -> customerRepository.findIdsAfter(CustomerSpecifications.matching(filter), afterId, limit),
+                (afterId, limit) -> customerArchive.findIdsAfter(filter, afterId, limit)),
+                this::deleteChunk);
+    }
+
+    // Like deleteCustomer, covers archived customers too. Only ids that still exist get an event.
+    private int deleteChunk(List<Long> ids) {
+        Set<Long> hot = new HashSet<>(customerRepository.findIdsAfter(
+                (root, query, cb) -> root.get("id").in(ids), Long.MIN_VALUE, ids.size()));
+        List<Long> archived = customerArchive.deleteAll(ids.stream().filter(id -> !hot.contains(id)).toList());
+        hot.forEach(id -> customerEventOutbox.record(CustomerEventType.DELETED, id, null));
+        archived.forEach(id -> customerEventOutbox.record(CustomerEventType.DELETED, id, null));
+        return customerRepository.deleteByIds(ids) + archived.size();
+    }
+
+    // One query per chunk for the snapshots carried by the UPDATED events
+    private void recordUpdated(List<Long> ids) {
+        customerMapper.toDTOList(customerRepository.findAllById(ids))
+                .forEach(dto -> customerEventOutbox.record(CustomerEventType.UPDATED, dto.getId(), dto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDTO> getAllCustomers(Pageable pageable) {
         log.info("Fetching all customers with pagination");
         Page<Customer> customersPage = customerRepository.findAll(pageable);
@@ -85,6 +265,23 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> findCustomers(CustomerFilter filter, Pageable pageable) {
+        log.info("Fetching customers matching {}", filter);
+        Pageable planned = customerQueryPlanner.plan(filter, pageable);
+        return customerRepository.findAll(CustomerSpecifications.matching(filter), planned).map(customerMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> getAllCustomersIncludingArchived(Pageable pageable) {
+        log.info("Fetching all customers including archived with pagination");
+        Pageable planned = customerQueryPlanner.plan(new CustomerFilter(), pageable);
+        return CustomerArchive.merge(this::getAllCustomers, customerArchive::findAll, planned);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getCustomersByStatus(CustomerStatus status) {
         log.info("Fetching customers by status: {}", status);
         List<Customer> customers = customerRepository.findByStatus(status);
@@ -92,6 +289,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDTO> getCustomersByAssignedUser(Long userId, Pageable pageable) {
         log.info("Fetching customers assigned to user ID: {}", userId);
         Page<Customer> customersPage = customerRepository.findByAssignedUserId(userId, pageable);
@@ -99,6 +297,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDTO> searchCustomers(String searchTerm, Pageable pageable) {
         log.info("Searching customers with term: {}", searchTerm);
         Page<Customer> customersPage = customerRepository.searchCustomers(searchTerm, pageable);
@@ -106,18 +305,34 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> searchCustomersIncludingArchived(String searchTerm, Pageable pageable) {
+        log.info("Searching customers including archived with term: {}", searchTerm);
+        return CustomerArchive.merge(window -> searchCustomers(searchTerm, window),
+                window -> customerArchive.search(searchTerm, window), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return customerRepository.findByEmail(email).isPresent();
+        if (!emailExistenceFilter.mightExist(email)) {
+            return false;
+        }
+        boolean exists = customerRepository.existsByEmail(email) || customerArchive.existsByEmail(email);
+        emailExistenceFilter.confirmed(exists);
+        return exists;
     }
 
     @Override
-    @Cacheable(value = "customerStatusCache")
+    @Transactional(readOnly = true)
+    @Cacheable(value = "customerStatusCache", sync = true)
     public Map<CustomerStatus, Long> getCustomerStatusCounts() {
         log.info("Getting customer status counts");
         Map<CustomerStatus, Long> statusCounts = new HashMap<>();
         
+        // Archived customers still count towards their status
         Arrays.stream(CustomerStatus.values()).forEach(status -> {
-            Long count = customerRepository.countByStatus(status);
+            Long count = customerRepository.countByStatus(status) + customerArchive.countByStatus(status);
             statusCounts.put(status, count);
         });
         
@@ -0,0 +1,193 @@
+package com.crmsystem.customer.service.impl;
+
+import com.crmsystem.customer.dedupe.DuplicateDetector;
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.DuplicateCandidateDTO;
+import com.crmsystem.customer.dto.DuplicateScanStatus;
+import com.crmsystem.customer.dto.DuplicateScanStatus.State;
+import com.crmsystem.customer.exception.ResourceNotFoundException;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.model.DuplicateCandidate;
+import com.crmsystem.customer.model.DuplicateCandidate.Status;
+import com.crmsystem.customer.repository.CustomerRepository;
+import com.crmsystem.customer.repository.DuplicateCandidateRepository;
+import com.crmsystem.customer.service.DuplicateCustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Runs DuplicateDetector on its own thread, one scan at a time, and keeps its output as reviewable candidates.
+// Each scan replaces the pending candidates; dismissed pairs are remembered and not raised again.
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class DuplicateCustomerServiceImpl implements DuplicateCustomerService, DisposableBean {
+
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    private final DuplicateDetector duplicateDetector;
+    private final DuplicateCandidateRepository duplicateCandidateRepository;
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService scanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<DuplicateScanStatus> scanStatus = new AtomicReference<>(
+            DuplicateScanStatus.builder().state(State.IDLE).build());
+
+    public DuplicateCustomerServiceImpl(DuplicateDetector duplicateDetector,
+                                        DuplicateCandidateRepository duplicateCandidateRepository,
+                                        CustomerRepository customerRepository,
+                                        CustomerMapper customerMapper,
+                                        TransactionTemplate transactionTemplate) {
+        this.duplicateDetector = duplicateDetector;
+        this.duplicateCandidateRepository = duplicateCandidateRepository;
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public DuplicateScanStatus startScan() {
+        DuplicateScanStatus current = scanStatus.get();
+        if (current.getState() == State.RUNNING) {
+            return current;
+        }
+        DuplicateScanStatus running = DuplicateScanStatus.builder()
+                .state(State.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+        if (!scanStatus.compareAndSet(current, running)) {
+            return scanStatus.get();
+        }
+        log.info("Starting duplicate customer scan");
+        scanExecutor.execute(() -> scan(running));
+        return running;
+    }
+
+    // Off unless app.customer.dedupe.cron is set
+    @Scheduled(cron = "${app.customer.dedupe.cron:-}")
+    public void scheduledScan() {
+        startScan();
+    }
+
+    private void scan(DuplicateScanStatus running) {
+        try {
+            DuplicateDetector.Result result = duplicateDetector.detect();
+            int saved = saveCandidates(result.candidates());
+            scanStatus.set(running.toBuilder()
+                    .state(State.COMPLETED)
+                    .finishedAt(LocalDateTime.now())
+                    .customers(result.customers())
+                    .blocks(result.blocks())
+                    .oversizedBlocks(result.oversizedBlocks())
+                    .comparisons(result.comparisons())
+                    .candidates(saved)
+                    .durationMs(result.durationMs())
+                    .build());
+        } catch (RuntimeException e) {
+            log.error("Duplicate customer scan failed", e);
+            scanStatus.set(running.toBuilder()
+                    .state(State.FAILED)
+                    .finishedAt(LocalDateTime.now())
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    private int saveCandidates(List<DuplicateDetector.Candidate> candidates) {
+        LocalDateTime detectedAt = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            Set<List<Long>> dismissed = duplicateCandidateRepository.findPairsByStatus(Status.DISMISSED).stream()
+                    .map(pair -> List.of(pair.getCustomerId(), pair.getDuplicateId()))
+                    .collect(Collectors.toCollection(HashSet::new));
+            duplicateCandidateRepository.deleteByStatus(Status.PENDING);
+
+            List<DuplicateCandidate> rows = candidates.stream()
+                    .filter(candidate -> !dismissed.contains(List.of(candidate.customerId(), candidate.duplicateId())))
+                    .map(candidate -> DuplicateCandidate.builder()
+                            .customerId(candidate.customerId())
+                            .duplicateId(candidate.duplicateId())
+                            .score(candidate.score())
+                            .matchedFields(String.join(",", candidate.matchedFields()))
+                            .status(Status.PENDING)
+                            .detectedAt(detectedAt)
+                            .build())
+                    .toList();
+            for (int from = 0; from < rows.size(); from += SAVE_BATCH_SIZE) {
+                duplicateCandidateRepository.saveAll(rows.subList(from, Math.min(rows.size(), from + SAVE_BATCH_SIZE)));
+                duplicateCandidateRepository.flush();
+            }
+            return rows.size();
+        });
+    }
+
+    @Override
+    public DuplicateScanStatus getScanStatus() {
+        return scanStatus.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DuplicateCandidateDTO> getCandidates(Pageable pageable) {
+        Pageable byScore = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "score").and(Sort.by("id")));
+        Page<DuplicateCandidate> candidates = duplicateCandidateRepository.findByStatus(Status.PENDING, byScore);
+
+        // Both sides of the page in one query
+        Set<Long> customerIds = new HashSet<>();
+        candidates.forEach(candidate -> {
+            customerIds.add(candidate.getCustomerId());
+            customerIds.add(candidate.getDuplicateId());
+        });
+        Map<Long, CustomerDTO> customers = customerMapper.toDTOList(customerRepository.findAllById(customerIds)).stream()
+                .collect(Collectors.toMap(CustomerDTO::getId, Function.identity()));
+
+        return candidates.map(candidate -> DuplicateCandidateDTO.builder()
+                .id(candidate.getId())
+                .score(candidate.getScore())
+                .matchedFields(candidate.getMatchedFields() == null || candidate.getMatchedFields().isEmpty()
+                        ? List.of() : Arrays.asList(candidate.getMatchedFields().split(",")))
+                .detectedAt(candidate.getDetectedAt())
+                .customer(customers.get(candidate.getCustomerId()))
+                .duplicate(customers.get(candidate.getDuplicateId()))
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void dismissCandidate(Long id) {
+        DuplicateCandidate candidate = duplicateCandidateRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Duplicate candidate not found with id: " + id));
+        candidate.setStatus(Status.DISMISSED);
+    }
+
+    @Override
+    public void destroy() {
+        scanExecutor.shutdownNow();
+    }
+} 
\ No newline at end of file
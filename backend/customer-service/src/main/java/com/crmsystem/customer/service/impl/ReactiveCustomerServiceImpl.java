@@ -0,0 +1,64 @@
+package com.crmsystem.customer.service.impl;
+
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.exception.BadRequestException;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.repository.ReactiveCustomerReadRepository;
+import com.crmsystem.customer.service.ReactiveCustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@ConditionalOnExpression("${app.reactive.enabled:false} and !${app.sharding.enabled:false}")
+@RequiredArgsConstructor
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveCustomerReadRepository reactiveCustomerReadRepository;
+    private final CustomerMapper customerMapper;
+    private final CustomerQueryPlanner customerQueryPlanner;
+
+    @Value("${app.reactive.max-page-size:10000}")
+    private int maxPageSize;
+
+    @Override
+    public Flux<CustomerDTO> streamAllCustomers(Sort sort, int page, int size) {
+        validatePage(page, size);
+        Sort planned = customerQueryPlanner.planSort(sort);
+        return reactiveCustomerReadRepository.findAll(planned, size, (long) page * size)
+                .map(customerMapper::toDTO);
+    }
+
+    @Override
+    public Flux<CustomerDTO> streamCustomersByStatus(CustomerStatus status, int page, int size) {
+        validatePage(page, size);
+        return reactiveCustomerReadRepository.findByStatus(status, size, (long) page * size)
+                .map(customerMapper::toDTO);
+    }
+
+    @Override
+    public Flux<CustomerDTO> streamCustomersByAssignedUser(Long userId, int page, int size) {
+        validatePage(page, size);
+        return reactiveCustomerReadRepository.findByAssignedUserId(userId, size, (long) page * size)
+                .map(customerMapper::toDTO);
+    }
+
+    @Override
+    public Flux<CustomerDTO> streamSearchCustomers(String searchTerm, int page, int size) {
+        validatePage(page, size);
+        return reactiveCustomerReadRepository.search(searchTerm, size, (long) page * size)
+                .map(customerMapper::toDTO);
+    }
+
+    // Streams allow larger pages than the JSON listing, but the same offset cap and index-backed sorts
+    private void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        customerQueryPlanner.checkOffset((long) page * size);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.crmsystem.customer.service.impl;
+
+import com.crmsystem.customer.cache.EmailExistenceFilter;
+import com.crmsystem.customer.cache.NearCacheInvalidator;
+import com.crmsystem.customer.dto.BulkOperationResult;
+import com.crmsystem.customer.dto.CustomerDTO;
+import com.crmsystem.customer.dto.CustomerFilter;
+import com.crmsystem.customer.event.CustomerEventOutbox;
+import com.crmsystem.customer.event.CustomerEventType;
+import com.crmsystem.customer.exception.PreconditionFailedException;
+import com.crmsystem.customer.exception.ResourceNotFoundException;
+import com.crmsystem.customer.mapper.CustomerMapper;
+import com.crmsystem.customer.mapper.CustomerMergePatcher;
+import com.crmsystem.customer.model.Customer;
+import com.crmsystem.customer.model.Customer.CustomerStatus;
+import com.crmsystem.customer.service.CustomerService;
+import com.crmsystem.customer.sharding.ShardedCustomerStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// CustomerService backed by the sharded store. Outbox rows still go to the primary database: they are
+// written first inside the primary transaction, so a failed shard write rolls the event back with it.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedCustomerServiceImpl implements CustomerService {
+
+    private final ShardedCustomerStore shardedCustomerStore;
+    private final CustomerMapper customerMapper;
+    private final CustomerEventOutbox customerEventOutbox;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final CustomerMergePatcher customerMergePatcher;
+    private final BulkChunkRunner bulkChunkRunner;
+    private final CustomerQueryPlanner customerQueryPlanner;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional
+    public CustomerDTO createCustomer(CustomerDTO customerDTO) {
+        log.info("Creating new customer: {}", customerDTO.getEmail());
+        Customer customer = customerMapper.toEntity(customerDTO);
+        customer.setId(null);
+
+        // Set default status if not provided
+        if (customer.getStatus() == null) {
+            customer.setStatus(CustomerStatus.LEAD);
+        }
+
+        Customer savedCustomer = shardedCustomerStore.insert(customer);
+        CustomerDTO savedDTO = customerMapper.toDTO(savedCustomer);
+        customerEventOutbox.record(CustomerEventType.CREATED, savedCustomer.getId(), savedDTO);
+        emailExistenceFilter.add(savedDTO.getEmail());
+        return savedDTO;
+    }
+
+    @Override
+    @Transactional
+    public List<CustomerDTO> createCustomers(List<CustomerDTO> customerDTOs) {
+        log.info("Creating {} customers in batch", customerDTOs.size());
+        return customerDTOs.stream().map(this::createCustomer).collect(Collectors.toList());
+    }
+
+    @Override
+    @Cacheable(value = "customerCache", key = "#id", sync = true)
+    public CustomerDTO getCustomerById(Long id) {
+        log.info("Fetching customer with ID: {}", id);
+        Customer customer = shardedCustomerStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        return customerMapper.toDTO(customer);
+    }
+
+    @Override
+    public Optional<Long> getCustomerVersion(Long id) {
+        Cache cache = cacheManager.getCache(NearCacheInvalidator.CUSTOMER_CACHE);
+        CustomerDTO cached = cache != null ? cache.get(id, CustomerDTO.class) : null;
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        return shardedCustomerStore.findVersionById(id);
+    }
+
+    @Override
+    public List<CustomerDTO> getCustomersByIds(List<Long> ids) {
+        return shardedCustomerStore.findAllById(ids).stream()
+                .map(customerMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Long, Long> getCustomerVersions(List<Long> ids) {
+        return shardedCustomerStore.findVersionsByIds(ids);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "customerCache", key = "#id")
+    public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) {
+        log.info("Updating customer with ID: {}", id);
+        Customer existingCustomer = shardedCustomerStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+
+        customerMapper.updateEntityFromDTO(customerDTO, existingCustomer);
+        CustomerDTO updatedDTO = customerMapper.toDTO(existingCustomer);
+        customerEventOutbox.record(CustomerEventType.UPDATED, id, updatedDTO);
+        emailExistenceFilter.add(updatedDTO.getEmail());
+        Customer updatedCustomer = shardedCustomerStore.update(existingCustomer);
+        return customerMapper.toDTO(updatedCustomer);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "customerCache", key = "#id")
+    public CustomerDTO patchCustomer(Long id, JsonNode mergePatch, long expectedVersion) {
+        log.info("Patching customer with ID: {}", id);
+        Customer existingCustomer = shardedCustomerStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        // Rows written before versioning have no version; they are served with ETag version 0
+        Long currentVersion = Objects.requireNonNullElse(existingCustomer.getVersion(), 0L);
+        if (!Objects.equals(currentVersion, expectedVersion)) {
+            throw new PreconditionFailedException("Customer " + id + " is at version " + currentVersion
+                    + ", not " + expectedVersion);
+        }
+
+        CustomerMergePatcher.Result patch = customerMergePatcher.apply(customerMapper.toDTO(existingCustomer), mergePatch);
+        if (patch.changedFields().isEmpty()) {
+            return customerMapper.toDTO(existingCustomer);
+        }
+        customerMapper.copyWritableFields(patch.customer(), existingCustomer);
+        // The version predicate in the UPDATE catches writers that committed after our read
+        if (!shardedCustomerStore.updateFields(existingCustomer, patch.changedFields(), expectedVersion)) {
+            throw new PreconditionFailedException("Customer " + id + " was modified concurrently");
+        }
+        CustomerDTO updatedDTO = customerMapper.toDTO(existingCustomer);
+        customerEventOutbox.record(CustomerEventType.UPDATED, id, updatedDTO);
+        emailExistenceFilter.add(updatedDTO.getEmail());
+        return updatedDTO;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "customerCache", key = "#id")
+    public void deleteCustomer(Long id) {
+        log.info("Deleting customer with ID: {}", id);
+        customerEventOutbox.record(CustomerEventType.DELETED, id, null);
+        if (!shardedCustomerStore.deleteById(id)) {
+            throw new ResourceNotFoundException("Customer not found with id: " + id);
+        }
+    }
+
+    @Override
+    public BulkOperationResult reassignCustomers(Long fromUserId, Long toUserId) {
+        log.info("Reassigning customers of user {} to {}", fromUserId, toUserId);
+        CustomerFilter filter = CustomerFilter.builder().assignedUserId(fromUserId).build();
+        return bulkChunkRunner.run("reassign",
+                (afterId, limit) -> shardedCustomerStore.findIdsAfter(filter, afterId, limit),
+                ids -> {
+                    int updated = shardedCustomerStore.reassign(ids, toUserId);
+                    recordUpdated(ids);
+                    return updated;
+                });
+    }
+
+    @Override
+    public BulkOperationResult updateCustomerStatus(CustomerFilter filter, CustomerStatus status) {
+        log.info("Setting status {} on customers matching {}", status, filter);
+        return bulkChunkRunner.run("status",
+                (afterId, limit) -> shardedCustomerStore.findIdsAfter(filter, afterId, limit),
+                ids -> {
+                    int updated = shardedCustomerStore.updateStatus(ids, status);
+                    recordUpdated(ids);
+                    return updated;
+                });
+    }
+
+    @Override
+    public BulkOperationResult deleteCustomers(List<Long> ids) {
+        log.info("Deleting {} customers by id", ids.size());
+        return bulkChunkRunner.run("delete", BulkChunkRunner.ofIds(ids), this::deleteChunk);
+    }
+
+    @Override
+    public BulkOperationResult deleteCustomers(CustomerFilter filter) {
+        log.info("Deleting customers matching {}", filter);
+        return bulkChunkRunner.run("delete",
+                (afterId, limit) -> shardedCustomerStore.findIdsAfter(filter, afterId, limit),
+                this::deleteChunk);
+    }
+
+    private int deleteChunk(List<Long> ids) {
+        // Events go to the primary first, as in deleteCustomer
+        shardedCustomerStore.findAllById(ids)
+                .forEach(customer -> customerEventOutbox.record(CustomerEventType.DELETED, customer.getId(), null));
+        return shardedCustomerStore.deleteByIds(ids);
+    }
+
+    private void recordUpdated(List<Long> ids) {
+        customerMapper.toDTOList(shardedCustomerStore.findAllById(ids))
+                .forEach(dto -> customerEventOutbox.record(CustomerEventType.UPDATED, dto.getId(), dto));
+    }
+
+    @Override
+    public Page<CustomerDTO> getAllCustomers(Pageable pageable) {
+        log.info("Fetching all customers with pagination");
+        return shardedCustomerStore.findAll(pageable).map(customerMapper::toDTO);
+    }
+
+    @Override
+    public Page<CustomerDTO> findCustomers(CustomerFilter filter, Pageable pageable) {
+        log.info("Fetching customers matching {}", filter);
+        Pageable planned = customerQueryPlanner.plan(filter, pageable);
+        return shardedCustomerStore.findMatching(filter, planned).map(customerMapper::toDTO);
+    }
+
+    @Override
+    public List<CustomerDTO> getCustomersByStatus(CustomerStatus status) {
+        log.info("Fetching customers by status: {}", status);
+        return customerMapper.toDTOList(shardedCustomerStore.findByStatus(status));
+    }
+
+    @Override
+    public Page<CustomerDTO> getCustomersByAssignedUser(Long userId, Pageable pageable) {
+        log.info("Fetching customers assigned to user ID: {}", userId);
+        return shardedCustomerStore.findByAssignedUserId(userId, pageable).map(customerMapper::toDTO);
+    }
+
+    @Override
+    public Page<CustomerDTO> searchCustomers(String searchTerm, Pageable pageable) {
+        log.info("Searching customers with term: {}", searchTerm);
+        return shardedCustomerStore.search(searchTerm, pageable).map(customerMapper::toDTO);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (!emailExistenceFilter.mightExist(email)) {
+            return false;
+        }
+        boolean exists = shardedCustomerStore.existsByEmail(email);
+        emailExistenceFilter.confirmed(exists);
+        return exists;
+    }
+
+    @Override
+    @Cacheable(value = "customerStatusCache", sync = true)
+    public Map<CustomerStatus, Long> getCustomerStatusCounts() {
+        log.info("Getting customer status counts");
+        Map<CustomerStatus, Long> statusCounts = new HashMap<>();
+
+        Arrays.stream(CustomerStatus.values()).forEach(status ->
+                statusCounts.put(status, shardedCustomerStore.countByStatus(status)));
+
+        return statusCounts;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.crmsystem.customer.sharding;
+
+import java.util.Arrays;
+
+// Ids hash to one of BUCKET_COUNT fixed virtual buckets and the bucket map says which shard holds each bucket.
+// The hash never depends on the number of shards, so adding a shard URL moves nothing by itself: a new shard
+// only receives the buckets that are moved to it (see ShardTopology for the procedure).
+public class ShardRouter {
+
+    public static final int BUCKET_COUNT = 1024;
+
+    private final int[] bucketShards;
+    private final int shardCount;
+
+    public ShardRouter(int[] bucketShards, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (bucketShards.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException("Expected " + BUCKET_COUNT + " buckets, got " + bucketShards.length);
+        }
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            if (bucketShards[bucket] < 0 || bucketShards[bucket] >= shardCount) {
+                throw new IllegalArgumentException("Bucket " + bucket + " is mapped to shard " + bucketShards[bucket]
+                        + " but only " + shardCount + " shards are configured");
+            }
+        }
+        this.bucketShards = bucketShards.clone();
+        this.shardCount = shardCount;
+    }
+
+    // Initial map for a fresh deployment: buckets dealt round-robin over the shards
+    public static int[] roundRobin(int shardCount) {
+        int[] bucketShards = new int[BUCKET_COUNT];
+        Arrays.setAll(bucketShards, bucket -> bucket % shardCount);
+        return bucketShards;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // Snowflake ids are time-ordered, so mix the bits before taking the modulus to spread writes evenly
+    public int bucketFor(long customerId) {
+        return (int) Math.floorMod(mix(customerId), (long) BUCKET_COUNT);
+    }
+
+    public int shardFor(long customerId) {
+        return bucketShards[bucketFor(customerId)];
+    }
+
+    public int bucketsOn(int shard) {
+        return (int) Arrays.stream(bucketShards).filter(owner -> owner == shard).count();
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+} 
\ No newline at end of file
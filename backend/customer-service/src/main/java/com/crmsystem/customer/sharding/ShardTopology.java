@@ -0,0 +1,75 @@
+package com.crmsystem.customer.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Loads and checks the bucket map that ShardRouter routes by. Every shard stores its own position in
+// app.sharding.urls (customer_shard_identity) and a copy of the bucket map (customer_shard_buckets); startup
+// refuses to continue when they disagree with the configuration, instead of reading and writing rows on shards
+// that don't hold them. On first start the buckets are dealt round-robin.
+//
+// Adding a shard: append its URL and restart. It is given the current map and owns no buckets yet. To move a
+// bucket b from shard s to the new shard t, with customer-service stopped:
+//  1. copy the rows of customers WHERE bucket = b from s to t (e.g. mysqldump --where="bucket=b");
+//  2. DELETE FROM customers WHERE bucket = b on s;
+//  3. UPDATE customer_shard_buckets SET shard_index = t WHERE bucket = b on every shard;
+// then start customer-service again. Shards can't be removed or reordered in the URL list; their buckets have
+// to be moved off first.
+@Slf4j
+public final class ShardTopology {
+
+    private ShardTopology() {
+    }
+
+    public static ShardRouter load(List<DataSource> shardDataSources) {
+        List<JdbcTemplate> shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        int shardCount = shards.size();
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            List<Integer> identity = shards.get(shard).queryForList(
+                    "SELECT shard_index FROM customer_shard_identity", Integer.class);
+            if (identity.isEmpty()) {
+                shards.get(shard).update("INSERT INTO customer_shard_identity (shard_index) VALUES (?)", shard);
+            } else if (identity.get(0) != shard) {
+                throw new IllegalStateException("app.sharding.urls[" + shard + "] points at the database of shard "
+                        + identity.get(0) + "; shard URLs can't be reordered or removed");
+            }
+        }
+
+        List<int[]> maps = new ArrayList<>();
+        for (JdbcTemplate shard : shards) {
+            maps.add(shard.queryForList("SELECT shard_index FROM customer_shard_buckets ORDER BY bucket", Integer.class)
+                    .stream().mapToInt(Integer::intValue).toArray());
+        }
+        int[] bucketShards = maps.stream().filter(map -> map.length > 0).findFirst()
+                .orElseGet(() -> ShardRouter.roundRobin(shardCount));
+        for (int shard = 0; shard < shardCount; shard++) {
+            int[] map = maps.get(shard);
+            if (map.length == 0) {
+                writeMap(shards.get(shard), bucketShards);
+            } else if (!Arrays.equals(map, bucketShards)) {
+                throw new IllegalStateException("The bucket map on shard " + shard + " differs from the one on the "
+                        + "other shards; finish the bucket move on every shard before starting");
+            }
+        }
+
+        ShardRouter router = new ShardRouter(bucketShards, shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            log.info("Shard {} holds {} of {} buckets", shard, router.bucketsOn(shard), ShardRouter.BUCKET_COUNT);
+        }
+        return router;
+    }
+
+    private static void writeMap(JdbcTemplate shard, int[] bucketShards) {
+        List<Object[]> rows = new ArrayList<>(bucketShards.length);
+        for (int bucket = 0; bucket < bucketShards.length; bucket++) {
+            rows.add(new Object[]{bucket, bucketShards[bucket]});
+        }
+        shard.batchUpdate("INSERT INTO customer_shard_buckets (bucket, shard_index) VALUES (?, ?)", rows);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.crmsystem.customer.sharding;
+
+// 64-bit time-ordered ids generated without a database round trip:
+// 41 bits of milliseconds since 2024-01-01, 10 bits of worker id, 12 bits of per-millisecond sequence.
+// Every replica must run with a distinct worker id.
+public class SnowflakeIdGenerator {
+
+    static final long EPOCH_MS = 1704067200000L;
+    static final int WORKER_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Tolerate small NTP corrections by waiting instead of failing
+    private static final long MAX_CLOCK_BACKWARDS_MS = 50;
+
+    private final long workerId;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public SnowflakeIdGenerator(long workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.workerId = workerId;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+        if (timestamp < lastTimestamp) {
+            long drift = lastTimestamp - timestamp;
+            if (drift > MAX_CLOCK_BACKWARDS_MS) {
+                throw new IllegalStateException("Clock moved backwards by " + drift + "ms, refusing to generate ids");
+            }
+            timestamp = waitUntil(lastTimestamp);
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond
+                timestamp = waitUntil(lastTimestamp + 1);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH_MS) << (WORKER_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    private static long waitUntil(long target) {
+        long now = System.currentTimeMillis();
+        while (now < target) {
+            Thread.onSpinWait();
+            now = System.currentTimeMillis();
+        }
+        return now;
+    }
+} 
\ No newline at end of file
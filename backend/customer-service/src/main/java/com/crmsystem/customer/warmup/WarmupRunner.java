@@ -0,0 +1,241 @@
+package com.crmsystem.customer.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Warms a fresh instance before it takes traffic: opens every pooled connection, loads the most recently
+// updated customers into customerCache and replays GET requests against this instance's own controllers in
+// every wire format, so the JIT has compiled the hot paths by the time the first real request arrives.
+// Runs as the last ApplicationRunner: Boot only reports readiness once the runners are done, and the Eureka
+// status, registered as STARTING (eureka.instance.initial-status), is set to UP here whether or not the
+// warm-up worked. Only GETs are replayed, so a recorded mix can't change data.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int PRELOAD_PAGE_SIZE = 100;
+    private static final String[] ACCEPTS = {"application/json", "application/cbor", "application/x-jackson-smile"};
+
+    private final WebServerApplicationContext context;
+    private final List<DataSource> dataSources;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final boolean enabled;
+    private final int preloadCustomers;
+    private final int requests;
+    private final int concurrency;
+    private final long maxDurationMs;
+    private final String requestsFile;
+
+    public WarmupRunner(WebServerApplicationContext context,
+                        List<DataSource> dataSources,
+                        ObjectMapper objectMapper,
+                        ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                        @Value("${app.warmup.enabled:true}") boolean enabled,
+                        @Value("${app.warmup.preload-customers:1000}") int preloadCustomers,
+                        @Value("${app.warmup.requests:3000}") int requests,
+                        @Value("${app.warmup.concurrency:4}") int concurrency,
+                        @Value("${app.warmup.max-duration-ms:60000}") long maxDurationMs,
+                        @Value("${app.warmup.requests-file:}") String requestsFile) {
+        this.context = context;
+        this.dataSources = dataSources;
+        this.objectMapper = objectMapper;
+        this.applicationInfoManager = applicationInfoManager;
+        this.enabled = enabled;
+        this.preloadCustomers = preloadCustomers;
+        this.requests = requests;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxDurationMs = maxDurationMs;
+        this.requestsFile = requestsFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (enabled) {
+                warmUp();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Warm-up interrupted, starting cold");
+        } catch (Exception e) {
+            log.warn("Warm-up failed, starting cold", e);
+        } finally {
+            applicationInfoManager.ifAvailable(manager -> manager.setInstanceStatus(InstanceStatus.UP));
+        }
+    }
+
+    private void warmUp() throws Exception {
+        long start = System.currentTimeMillis();
+        long deadline = start + maxDurationMs;
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+        int connections = fillPools();
+        List<Long> hotIds = preloadHotCustomers(client, baseUrl, deadline);
+        List<String> paths = StringUtils.hasText(requestsFile) ? recordedPaths(Path.of(requestsFile)) : syntheticPaths(hotIds);
+        AtomicInteger failed = new AtomicInteger();
+        int replayed = paths.isEmpty() ? 0 : replay(client, baseUrl, paths, deadline, failed);
+
+        log.info("Warm-up done in {} ms: {} pooled connections opened, {} customers cached, {} requests replayed ({} failed)",
+                System.currentTimeMillis() - start, connections, hotIds.size(), replayed, failed.get());
+    }
+
+    // Holds as many connections as each pool allows at once, so none is opened on a request's time
+    private int fillPools() throws SQLException {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        }
+        int opened = 0;
+        for (HikariDataSource pool : pools) {
+            List<Connection> held = new ArrayList<>();
+            try {
+                for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                    held.add(pool.getConnection());
+                }
+            } finally {
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            }
+            opened += held.size();
+        }
+        return opened;
+    }
+
+    // Reads the customers by id through the controller, which is what fills customerCache
+    private List<Long> preloadHotCustomers(HttpClient client, String baseUrl, long deadline)
+            throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; ids.size() < preloadCustomers && System.currentTimeMillis() < deadline; page++) {
+            HttpResponse<String> response = client.send(request(baseUrl, "/api/customers?page=" + page + "&size="
+                    + PRELOAD_PAGE_SIZE + "&sortBy=updatedAt&sortDir=desc", 0), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("Warm-up could not list customers (status {}), skipping the cache preload", response.statusCode());
+                break;
+            }
+            JsonNode content = objectMapper.readTree(response.body()).path("content");
+            content.forEach(customer -> ids.add(customer.path("id").asLong()));
+            if (content.size() < PRELOAD_PAGE_SIZE) {
+                break;
+            }
+        }
+        int preloaded = 0;
+        while (preloaded < Math.min(ids.size(), preloadCustomers) && System.currentTimeMillis() < deadline) {
+            client.send(request(baseUrl, "/api/customers/" + ids.get(preloaded), 0), HttpResponse.BodyHandlers.discarding());
+            preloaded++;
+        }
+        return ids.subList(0, preloaded);
+    }
+
+    private int replay(HttpClient client, String baseUrl, List<String> paths, long deadline, AtomicInteger failed)
+            throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(() -> {
+                int n;
+                while ((n = next.getAndIncrement()) < requests && System.currentTimeMillis() < deadline) {
+                    try {
+                        HttpResponse<Void> response = client.send(request(baseUrl, paths.get(n % paths.size()), n),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            failed.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            executor.invokeAll(workers);
+        } finally {
+            executor.shutdownNow();
+        }
+        return Math.min(next.get(), requests);
+    }
+
+    // The listing in its usual sorts and filters, search, counts and the customers just cached
+    private static List<String> syntheticPaths(List<Long> hotIds) {
+        List<String> paths = new ArrayList<>(List.of(
+                "/api/customers?page=0&size=20",
+                "/api/customers?page=1&size=20&sortBy=lastName&sortDir=desc",
+                "/api/customers?page=0&size=20&sortBy=updatedAt&sortDir=desc",
+                "/api/customers?page=0&size=20&status=LEAD&status=ACTIVE",
+                "/api/customers?page=0&size=20&company=a",
+                "/api/customers/assigned/1?page=0&size=20",
+                "/api/customers/search?term=smith&page=0&size=20",
+                "/api/customers/status-counts",
+                "/api/customers/email-exists?email=warmup%40example.com"));
+        hotIds.stream().limit(50).forEach(id -> paths.add("/api/customers/" + id));
+        return paths;
+    }
+
+    // One request per line, "GET /path?query" or just the path; blank lines, # comments and other methods are skipped
+    private static List<String> recordedPaths(Path file) throws IOException {
+        List<String> paths = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String path = line.trim();
+            if (path.startsWith("GET ")) {
+                path = path.substring(4).trim();
+            }
+            if (path.startsWith("/")) {
+                paths.add(path);
+            }
+        }
+        log.info("Warm-up replays {} recorded requests from {}", paths.size(), file);
+        return paths;
+    }
+
+    // Rotates through the wire formats, with and without gzip, so every converter and encoder is warmed too
+    private static HttpRequest request(String baseUrl, String path, int n) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", ACCEPTS[n % ACCEPTS.length])
+                .header("Accept-Encoding", (n / ACCEPTS.length) % 2 == 0 ? "identity" : "gzip")
+                .header("X-User-Id", "warmup")
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+    }
+} 
\ No newline at end of file
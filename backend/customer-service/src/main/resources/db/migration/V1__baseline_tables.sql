@@ -0,0 +1,62 @@
+-- Tables as ddl-auto=update used to create them. IF NOT EXISTS keeps this a no-op on databases that
+-- predate the migrations (baseline-on-migrate); secondary indexes follow in V2.
+
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    company VARCHAR(255),
+    status VARCHAR(32),
+    notes VARCHAR(1000),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    assigned_user_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+-- Block allocator for customer ids (CustomerIdGenerator); CustomerIdSequenceInitializer moves it past existing ids
+CREATE TABLE IF NOT EXISTS customer_seq (
+    next_val BIGINT
+);
+
+INSERT INTO customer_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM customer_seq);
+
+CREATE TABLE IF NOT EXISTS customer_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id BIGINT,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT,
+    created_at DATETIME(6),
+    published_at DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS customers_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    company VARCHAR(255),
+    status VARCHAR(32),
+    notes VARCHAR(1000),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    assigned_user_id BIGINT,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS customer_duplicate_candidates (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    duplicate_id BIGINT NOT NULL,
+    score DOUBLE NOT NULL,
+    matched_fields VARCHAR(64),
+    status VARCHAR(16) NOT NULL,
+    detected_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_duplicate_pair UNIQUE (customer_id, duplicate_id)
+);
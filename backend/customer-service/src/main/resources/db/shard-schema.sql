@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    company VARCHAR(255),
+    status VARCHAR(255),
+    notes VARCHAR(1000),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    assigned_user_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Virtual bucket of the id (ShardRouter), so a bucket's rows can be moved to another shard
+    bucket INT NOT NULL,
+    -- Unique within this shard only; ShardedCustomerStore looks for the email on the other shards before writing
+    CONSTRAINT uk_customers_email UNIQUE (email),
+    -- Same indexes as the Customer entity; listings rely on them (CustomerQueryPlanner)
+    INDEX idx_customers_last_name (last_name),
+    INDEX idx_customers_company (company),
+    INDEX idx_customers_status_updated_at (status, updated_at),
+    INDEX idx_customers_assigned_user_id (assigned_user_id),
+    INDEX idx_customers_created_at (created_at),
+    INDEX idx_customers_updated_at (updated_at),
+    INDEX idx_customers_bucket (bucket)
+);
+
+-- Position of this database in app.sharding.urls, written on first start (ShardTopology)
+CREATE TABLE IF NOT EXISTS customer_shard_identity (
+    shard_index INT NOT NULL PRIMARY KEY
+);
+
+-- Shard holding each virtual bucket; the same on every shard (ShardTopology)
+CREATE TABLE IF NOT EXISTS customer_shard_buckets (
+    bucket INT NOT NULL PRIMARY KEY,
+    shard_index INT NOT NULL
+);
@@ -0,0 +1,89 @@
+package com.crmsystem.customer.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// With app.jdbc.statement-budget.fail=true a request over its statement budget must fail, not just log a warning.
+// Creating a customer takes more statements than the budget of 2 allows; reading a missing one stays within it,
+// and the same create succeeds under the default budget.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.application.name=customer-service",
+        "spring.datasource.url=jdbc:h2:mem:statement_budget;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.open-in-view=false",
+        "eureka.client.enabled=false",
+        "app.cache.coherence.shared-secret=statement-budget-test",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration",
+        "app.warmup.enabled=false",
+        "app.jdbc.statement-budget.fail=true",
+        "app.jdbc.statement-budget.max-per-request=2"
+})
+class StatementBudgetTest {
+
+    private static final String CUSTOMER = """
+            {"firstName": "Ada", "lastName": "Lovelace", "email": "ada@example.com",
+             "company": "Analytical Engines", "status": "LEAD"}
+            """;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void requestOverBudgetFails() {
+        ResponseEntity<JsonNode> response = createCustomer(restTemplate);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("Statement Budget Exceeded", response.getBody().path("error").asText());
+        assertTrue(response.getBody().path("message").asText().startsWith("Request exceeded its budget of 2 statements"),
+                response.getBody().path("message").asText());
+    }
+
+    @Test
+    void requestWithinBudgetSucceeds() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/customers/{id}", JsonNode.class, 999_999);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:statement_budget_default;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "app.jdbc.statement-budget.max-per-request=20"
+    })
+    class DefaultBudget {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        void sameRequestSucceeds() {
+            ResponseEntity<JsonNode> response = createCustomer(restTemplate);
+
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals("ada@example.com", response.getBody().path("email").asText());
+        }
+    }
+
+    private static ResponseEntity<JsonNode> createCustomer(TestRestTemplate restTemplate) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/api/customers", new HttpEntity<>(CUSTOMER, headers), JsonNode.class);
+    }
+} 
\ No newline at end of file
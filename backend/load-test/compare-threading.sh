@@ -0,0 +1,19 @@
+#!/bin/sh
+# Runs the same load test against platform-thread and virtual-thread Tomcat and compares p99 per route.
+# Needs a Java 21 JDK; run from backend/: ./load-test/compare-threading.sh [extra -Dloadtest.* options]
+set -e
+cd "$(dirname "$0")/.."
+
+mvn -q -Pjava21 -DskipTests package
+
+mvn -q -Pjava21 -pl load-test exec:java -Dloadtest.label=platform "$@"
+mvn -q -Pjava21 -pl load-test exec:java -Dloadtest.label=virtual \
+  -Dloadtest.service-args=--app.threads.virtual.enabled=true "$@"
+
+commit=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain --untracked-files=no)" ]; then
+  commit="$commit-dirty"
+fi
+results=load-test/target/load-test-results
+mvn -q -pl load-test exec:java -Dexec.mainClass=com.crmsystem.loadtest.LoadTestComparison \
+  -Dexec.args="$results/load-test-$commit-platform.json $results/load-test-$commit-virtual.json"
@@ -0,0 +1,157 @@
+package com.crmsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds the requests of the login/list/search/create/update mix against the gateway
+public class CrmWorkload {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Maria", "Ahmed", "Wei", "Olga", "Carlos", "Priya"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Garcia", "Chen", "Ivanova", "Khan", "Brown", "Patel"};
+    private static final String[] COMPANIES = {"Acme Inc.", "Globex", "Initech", "Umbrella Corp", "Hooli", "Stark Ltd"};
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "LEAD", "PROSPECT", "CUSTOMER"};
+    private static final String[] SEARCH_TERMS = {"smith", "acme", "garcia", "hooli", "olga", "example.com", "patel", "globex"};
+
+    private final ObjectMapper objectMapper;
+    private final String gatewayUrl;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final List<Long> customerIds = new CopyOnWriteArrayList<>();
+    private final AtomicLong emailCounter = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private volatile String token = "";
+
+    public CrmWorkload(ObjectMapper objectMapper, String gatewayUrl, Map<Operation, Integer> mix) {
+        this.objectMapper = objectMapper;
+        this.gatewayUrl = gatewayUrl;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Request mix has no weight");
+        }
+    }
+
+    public Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    public HttpRequest request(Operation operation, Random random) {
+        return switch (operation) {
+            case LOGIN -> post("/api/auth/login", loginBody());
+            case LIST -> get("/api/customers?page=" + random.nextInt(10) + "&size=20&sortBy=lastName");
+            case SEARCH -> get("/api/customers/search?page=0&size=20&term="
+                    + URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8));
+            case CREATE -> post("/api/customers", customer(random).toString());
+            case UPDATE -> customerIds.isEmpty()
+                    ? post("/api/customers", customer(random).toString())
+                    : put("/api/customers/" + customerIds.get(random.nextInt(customerIds.size())), customer(random).toString());
+        };
+    }
+
+    // Keeps the ids of created customers so updates hit real rows
+    public void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            try {
+                JsonNode id = objectMapper.readTree(response.body()).get("id");
+                if (id != null) {
+                    customerIds.add(id.asLong());
+                }
+            } catch (IOException ignored) {
+                // Only bookkeeping for later updates
+            }
+        }
+    }
+
+    public void login(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(post("/api/auth/login", loginBody()), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        token = objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    public void seed(HttpClient client, int count, Random random) throws IOException, InterruptedException {
+        // Small batches: each one has to finish within the gateway's 5s time limiter on a still-cold service
+        int chunk = 50;
+        for (int created = 0; created < count; created += chunk) {
+            ArrayNode customers = objectMapper.createArrayNode();
+            for (int i = 0; i < Math.min(chunk, count - created); i++) {
+                customers.add(customer(random));
+            }
+            ObjectNode body = objectMapper.createObjectNode();
+            body.set("customers", customers);
+            HttpResponse<String> response = client.send(post("/api/customers/batch", body.toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(response.body()).forEach(node -> ids.add(node.get("id").asLong()));
+            customerIds.addAll(ids);
+        }
+    }
+
+    private String loginBody() {
+        return "{\"username\":\"admin\",\"password\":\"admin123\"}";
+    }
+
+    private ObjectNode customer(Random random) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("firstName", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        node.put("lastName", LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        node.put("email", "lt-" + runId + "-" + emailCounter.incrementAndGet() + "@example.com");
+        node.put("phone", "+1 555 " + (1_000_000 + random.nextInt(9_000_000)));
+        node.put("company", COMPANIES[random.nextInt(COMPANIES.length)]);
+        node.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        node.put("notes", "Created by the load test");
+        node.put("assignedUserId", 1 + random.nextInt(50));
+        return node;
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return builder(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return builder(path).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("Accept", "application/json")
+                .header("X-User-Id", "load-test");
+        if (!token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+} 
\ No newline at end of file
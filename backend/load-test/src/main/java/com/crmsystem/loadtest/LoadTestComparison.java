@@ -0,0 +1,51 @@
+package com.crmsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Compares two load-test result files step by step:
+// mvn -pl load-test exec:java -Dexec.mainClass=com.crmsystem.loadtest.LoadTestComparison -Dexec.args="a.json b.json"
+public class LoadTestComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LoadTestComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(new File(args[0]));
+        JsonNode candidate = objectMapper.readTree(new File(args[1]));
+
+        System.out.printf("Baseline %s vs candidate %s%n", baseline.path("commit").asText(), candidate.path("commit").asText());
+        System.out.printf("Max sustained rps: %s -> %s%n%n",
+                baseline.path("saturation").path("maxSustainedRps").asText(),
+                candidate.path("saturation").path("maxSustainedRps").asText());
+
+        Map<Integer, JsonNode> baselineSteps = new HashMap<>();
+        baseline.path("steps").forEach(step -> baselineSteps.put(step.path("targetRps").asInt(), step));
+
+        System.out.printf("%8s %-28s %12s %12s %9s%n", "rps", "route", "p99 before", "p99 after", "change");
+        for (JsonNode step : candidate.path("steps")) {
+            JsonNode before = baselineSteps.get(step.path("targetRps").asInt());
+            if (before == null) {
+                continue;
+            }
+            step.path("routes").fields().forEachRemaining(route -> {
+                JsonNode beforeRoute = before.path("routes").path(route.getKey());
+                if (beforeRoute.isMissingNode()) {
+                    return;
+                }
+                double p99Before = beforeRoute.path("p99Ms").asDouble();
+                double p99After = route.getValue().path("p99Ms").asDouble();
+                double change = p99Before == 0 ? 0 : (p99After - p99Before) / p99Before * 100;
+                System.out.printf("%8d %-28s %12.2f %12.2f %+8.1f%%%n",
+                        step.path("targetRps").asInt(), route.getKey(), p99Before, p99After, change);
+            });
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.crmsystem.loadtest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Settings from loadtest.properties, overridden by -Dloadtest.* system properties
+@Getter
+public class LoadTestConfig {
+
+    private static final String PREFIX = "loadtest.";
+
+    private final Map<String, String> values = new TreeMap<>();
+
+    private final boolean startServices;
+    private final List<String> serviceJvmArgs;
+    private final List<String> serviceArgs;
+    private final String label;
+    private final Duration startupTimeout;
+    private final Path backendDir;
+    private final Path resultsDir;
+    private final int gatewayPort;
+    private final int authPort;
+    private final int customerPort;
+    private final String gatewayUrl;
+    private final int seedCustomers;
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final List<Integer> rpsSteps;
+    private final Duration warmup;
+    private final Duration stepDuration;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+    private final long randomSeed;
+    private final double sloP99Ms;
+    private final double sloMaxErrorRate;
+    private final double sloMinThroughputRatio;
+    private final boolean stopAtSaturation;
+
+    public LoadTestConfig() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name)));
+
+        startServices = Boolean.parseBoolean(get("start-services", "true"));
+        serviceJvmArgs = Arrays.asList(get("service-jvm-args", "").trim().split("\\s+"));
+        serviceArgs = Arrays.asList(get("service-args", "").trim().split("\\s+"));
+        label = get("label", "").trim();
+        startupTimeout = Duration.ofSeconds(Long.parseLong(get("startup-timeout-seconds", "180")));
+        backendDir = Path.of(get("backend-dir", "..")).toAbsolutePath().normalize();
+        resultsDir = Path.of(get("results-dir", "target/load-test-results")).toAbsolutePath().normalize();
+        gatewayPort = Integer.parseInt(get("gateway-port", "18080"));
+        authPort = Integer.parseInt(get("auth-port", "18081"));
+        customerPort = Integer.parseInt(get("customer-port", "18082"));
+        gatewayUrl = get("gateway-url", "http://localhost:" + gatewayPort);
+        seedCustomers = Integer.parseInt(get("seed-customers", "5000"));
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, Integer.parseInt(get("mix." + operation.getKey(), "0")));
+        }
+        rpsSteps = Arrays.stream(get("rps-steps", "50,100,200").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        warmup = Duration.ofSeconds(Long.parseLong(get("warmup-seconds", "10")));
+        stepDuration = Duration.ofSeconds(Long.parseLong(get("step-seconds", "30")));
+        requestTimeout = Duration.ofMillis(Long.parseLong(get("request-timeout-ms", "10000")));
+        maxInFlight = Integer.parseInt(get("max-in-flight", "5000"));
+        randomSeed = Long.parseLong(get("random-seed", "42"));
+        sloP99Ms = Double.parseDouble(get("slo.p99-ms", "500"));
+        sloMaxErrorRate = Double.parseDouble(get("slo.max-error-rate", "0.01"));
+        sloMinThroughputRatio = Double.parseDouble(get("slo.min-throughput-ratio", "0.95"));
+        stopAtSaturation = Boolean.parseBoolean(get("stop-at-saturation", "true"));
+    }
+
+    private String get(String key, String defaultValue) {
+        return values.getOrDefault(PREFIX + key, defaultValue);
+    }
+} 
\ No newline at end of file
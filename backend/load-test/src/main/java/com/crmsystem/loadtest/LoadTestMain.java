@@ -0,0 +1,89 @@
+package com.crmsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Boots the stack (unless loadtest.start-services=false), seeds customers, then ramps the offered load
+// step by step until the SLO in loadtest.properties is broken.
+@Slf4j
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        try (ServiceLauncher launcher = new ServiceLauncher(config)) {
+            if (config.isStartServices()) {
+                Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+                launcher.startAll();
+            }
+
+            Random random = new Random(config.getRandomSeed());
+            CrmWorkload workload = new CrmWorkload(objectMapper, config.getGatewayUrl(), config.getMix());
+            workload.login(client);
+            log.info("Seeding {} customers", config.getSeedCustomers());
+            workload.seed(client, config.getSeedCustomers(), random);
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, workload, config.getRequestTimeout(), config.getMaxInFlight());
+            List<StepResult> steps = new ArrayList<>();
+            for (int rps : config.getRpsSteps()) {
+                StepResult step = driver.run(rps, config.getWarmup(), config.getStepDuration(), random);
+                steps.add(step);
+                boolean saturated = step.isSaturated(config);
+                log.info("{} rps offered: {} rps achieved, p99 {} ms, error rate {}{}", rps,
+                        String.format("%.1f", step.achievedRps()), step.p99Millis(),
+                        String.format("%.4f", step.errorRate()), saturated ? " -> saturated" : "");
+                if (saturated && config.isStopAtSaturation()) {
+                    break;
+                }
+            }
+
+            Path report = new LoadTestReport(objectMapper, config).write(commit(config.getBackendDir()), steps);
+            log.info("Results written to {}", report);
+        }
+    }
+
+    // Short hash of the checked-out commit, with a -dirty suffix for uncommitted changes
+    private static String commit(Path backendDir) {
+        String override = System.getProperty("loadtest.commit");
+        if (override != null) {
+            return override;
+        }
+        try {
+            String hash = git(backendDir, "rev-parse", "--short", "HEAD");
+            String status = git(backendDir, "status", "--porcelain", "--untracked-files=no");
+            return status.isEmpty() ? hash : hash + "-dirty";
+        } catch (IOException | InterruptedException e) {
+            return "unknown";
+        }
+    }
+
+    private static String git(Path dir, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String output = String.join("\n", reader.lines().toList()).trim();
+            if (process.waitFor() != 0) {
+                throw new IOException(output);
+            }
+            return output;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.crmsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Writes the run as JSON (one file per commit) plus an HdrHistogram percentile distribution per route and step
+public class LoadTestReport {
+
+    private final ObjectMapper objectMapper;
+    private final LoadTestConfig config;
+
+    public LoadTestReport(ObjectMapper objectMapper, LoadTestConfig config) {
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        this.config = config;
+    }
+
+    public Path write(String commit, List<StepResult> steps) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("commit", commit);
+        root.put("label", config.getLabel());
+        root.put("timestamp", Instant.now().toString());
+        root.put("javaVersion", System.getProperty("java.version"));
+        root.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        ObjectNode settings = root.putObject("config");
+        config.getValues().forEach(settings::put);
+
+        ArrayNode stepNodes = root.putArray("steps");
+        Integer saturationRps = null;
+        Integer lastHealthyRps = null;
+        for (StepResult step : steps) {
+            boolean saturated = step.isSaturated(config);
+            if (saturated && saturationRps == null) {
+                saturationRps = step.getTargetRps();
+            }
+            if (!saturated && saturationRps == null) {
+                lastHealthyRps = step.getTargetRps();
+            }
+            ObjectNode stepNode = stepNodes.addObject();
+            stepNode.put("targetRps", step.getTargetRps());
+            stepNode.put("achievedRps", round(step.achievedRps()));
+            stepNode.put("errorRate", round(step.errorRate()));
+            stepNode.put("saturated", saturated);
+            stepNode.set("overall", latency(step.combined(), step.requests(), step.errors()));
+            ObjectNode routes = stepNode.putObject("routes");
+            for (Map.Entry<Operation, RouteStats> route : step.getRoutes().entrySet()) {
+                RouteStats stats = route.getValue();
+                if (stats.getRequests() == 0) {
+                    continue;
+                }
+                ObjectNode routeNode = latency(stats.getHistogram(), stats.getRequests(), stats.getErrors().sum());
+                routeNode.put("dropped", stats.getDropped().sum());
+                routes.set(route.getKey().getRoute(), routeNode);
+                writeDistribution(commit, step.getTargetRps(), route.getKey(), stats.getHistogram());
+            }
+        }
+        ObjectNode saturation = root.putObject("saturation");
+        saturation.putPOJO("maxSustainedRps", lastHealthyRps);
+        saturation.putPOJO("firstSaturatedRps", saturationRps);
+
+        Path file = config.getResultsDir().resolve("load-test-" + runName(commit) + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writeValue(file.toFile(), root);
+        return file;
+    }
+
+    private ObjectNode latency(Histogram histogram, long requests, long errors) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("requests", requests);
+        node.put("errors", errors);
+        node.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        node.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+        node.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        node.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        node.put("maxMs", millis(histogram.getMaxValue()));
+        node.put("meanMs", round(histogram.getMean() / 1000.0));
+        return node;
+    }
+
+    private void writeDistribution(String commit, int rps, Operation operation, Histogram histogram) throws IOException {
+        Path file = config.getResultsDir().resolve("hgrm").resolve(runName(commit))
+                .resolve(rps + "rps-" + operation.getKey() + ".hgrm");
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Values are recorded in microseconds; scale so the file reads in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private String runName(String commit) {
+        return config.getLabel().isEmpty() ? commit : commit + "-" + config.getLabel();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / (double) TimeUnit.MILLISECONDS.toMicros(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.crmsystem.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop generator: requests are sent on a Poisson arrival schedule that does not wait for responses,
+// and latency is measured from the scheduled send time so queueing delay is not hidden (no coordinated omission).
+@Slf4j
+@RequiredArgsConstructor
+public class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final CrmWorkload workload;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    public StepResult run(int targetRps, Duration warmup, Duration duration, Random random) throws InterruptedException {
+        Map<Operation, RouteStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new RouteStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) targetRps;
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long next = start;
+
+        while (next < end) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            long intended = next;
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+
+            Operation operation = workload.pick(random);
+            RouteStats routeStats = intended >= measureFrom ? stats.get(operation) : null;
+            if (inFlight.get() >= maxInFlight) {
+                if (routeStats != null) {
+                    routeStats.recordDropped();
+                }
+                continue;
+            }
+
+            HttpRequest request = withTimeout(workload.request(operation, random));
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intended;
+                inFlight.decrementAndGet();
+                boolean success = error == null && response.statusCode() < 400;
+                if (routeStats != null) {
+                    routeStats.record(latency, success);
+                }
+                if (response != null) {
+                    workload.onResponse(operation, response);
+                }
+            });
+        }
+
+        // Let the tail of the step complete so slow responses are still counted
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still in flight after the {} rps step", inFlight.get(), targetRps);
+        }
+        return new StepResult(targetRps, duration, stats);
+    }
+
+    private HttpRequest withTimeout(HttpRequest request) {
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(requestTimeout).build();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.crmsystem.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    LOGIN("login", "POST /api/auth/login"),
+    LIST("list", "GET /api/customers"),
+    SEARCH("search", "GET /api/customers/search"),
+    CREATE("create", "POST /api/customers"),
+    UPDATE("update", "PUT /api/customers/{id}");
+
+    // Key in loadtest.mix.*
+    private final String key;
+
+    // Route name used in reports
+    private final String route;
+} 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.crmsystem.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency (microseconds, measured from the intended send time) and error counts of one route in one step
+@Getter
+public class RouteStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    // Arrival that could not be sent because max-in-flight was reached; counts as an error
+    public void recordDropped() {
+        dropped.increment();
+        errors.increment();
+    }
+
+    public long getRequests() {
+        return histogram.getTotalCount() + dropped.sum();
+    }
+} 
\ No newline at end of file
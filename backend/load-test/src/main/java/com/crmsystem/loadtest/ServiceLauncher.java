@@ -0,0 +1,147 @@
+package com.crmsystem.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts auth-service, customer-service and api-gateway from their packaged jars with in-memory H2.
+// Eureka is replaced by the simple discovery client: every service gets the static instance list below.
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final String H2_OPTIONS = ";DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    private final LoadTestConfig config;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Process> processes = new ArrayList<>();
+
+    public ServiceLauncher(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void startAll() throws IOException, InterruptedException {
+        Path logDir = config.getResultsDir().resolve("logs");
+        Files.createDirectories(logDir);
+
+        start("auth-service", jar("auth-service", "auth-service-0.0.1-SNAPSHOT.jar"), config.getAuthPort(), List.of(
+                "--spring.datasource.url=jdbc:h2:mem:crm_auth" + H2_OPTIONS,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--app.jwt.secret=loadTestSecretKeyThatIsLongEnoughForHmacSha512SigningInTheLoadTestOnly0123456789",
+                "--app.jwt.expiration-ms=86400000"), logDir);
+
+        // customer-service has no security configuration of its own, so switch off Boot's default basic auth
+        start("customer-service", jar("customer-service", "customer-service-0.0.1-SNAPSHOT.jar"), config.getCustomerPort(), List.of(
+                "--spring.datasource.url=jdbc:h2:mem:crm_customers" + H2_OPTIONS,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.open-in-view=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--app.cache.coherence.shared-secret=loadTestCoherenceSecret",
+                "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration,"
+                        + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"), logDir);
+
+        // The gateway inherits spring-boot-starter-web, security, JPA and the JDBC drivers from the parent pom,
+        // but is a reactive application without a database, and authentication is left to auth-service
+        start("api-gateway", jar("api-gateway", "api-gateway-0.0.1-SNAPSHOT.jar"), config.getGatewayPort(), List.of(
+                "--spring.main.web-application-type=reactive",
+                "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration,"
+                        + "org.springframework.boot.actuate.autoconfigure.security.reactive.ReactiveManagementWebSecurityAutoConfiguration"), logDir);
+
+        awaitReady("auth-service", "http://localhost:" + config.getAuthPort() + "/api/auth/status");
+        awaitReady("customer-service", "http://localhost:" + config.getCustomerPort() + "/actuator/health");
+        awaitReady("api-gateway", "http://localhost:" + config.getGatewayPort() + "/actuator/health");
+    }
+
+    private void start(String name, Path jar, int port, List<String> serviceArgs, Path logDir) throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found, run 'mvn -DskipTests package' in backend first");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        config.getServiceJvmArgs().stream().filter(arg -> !arg.isBlank()).forEach(command::add);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.application.name=" + name);
+        command.addAll(discoveryArgs());
+        command.add("--logging.level.root=WARN");
+        command.addAll(serviceArgs);
+        if (!name.equals("api-gateway")) {
+            config.getServiceArgs().stream().filter(arg -> !arg.isBlank()).forEach(command::add);
+        }
+
+        log.info("Starting {} on port {}", name, port);
+        Path logFile = logDir.resolve(name + ".log");
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start());
+    }
+
+    private List<String> discoveryArgs() {
+        return List.of(
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.auth-service[0].uri=http://localhost:" + config.getAuthPort(),
+                "--spring.cloud.discovery.client.simple.instances.customer-service[0].uri=http://localhost:" + config.getCustomerPort(),
+                "--spring.cloud.discovery.client.simple.instances.api-gateway[0].uri=http://localhost:" + config.getGatewayPort());
+    }
+
+    private Path jar(String module, String fileName) {
+        return config.getBackendDir().resolve(module).resolve("target").resolve(fileName);
+    }
+
+    private void awaitReady(String name, String url) throws InterruptedException {
+        long deadline = System.nanoTime() + config.getStartupTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (processes.stream().anyMatch(process -> !process.isAlive())) {
+                throw new IllegalStateException("A service exited during startup, see " + config.getResultsDir().resolve("logs"));
+            }
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    log.info("{} is ready", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become ready within " + config.getStartupTimeout());
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(15, java.util.concurrent.TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+} 
\ No newline at end of file
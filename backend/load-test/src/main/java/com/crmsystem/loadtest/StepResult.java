@@ -0,0 +1,50 @@
+package com.crmsystem.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class StepResult {
+
+    private final int targetRps;
+    private final Duration duration;
+    private final Map<Operation, RouteStats> routes;
+
+    public Histogram combined() {
+        Histogram combined = new Histogram(3);
+        routes.values().forEach(stats -> combined.add(stats.getHistogram()));
+        return combined;
+    }
+
+    public long requests() {
+        return routes.values().stream().mapToLong(RouteStats::getRequests).sum();
+    }
+
+    public long errors() {
+        return routes.values().stream().mapToLong(stats -> stats.getErrors().sum()).sum();
+    }
+
+    public double achievedRps() {
+        return (requests() - errors()) / (duration.toMillis() / 1000.0);
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : errors() / (double) requests;
+    }
+
+    public double p99Millis() {
+        return combined().getValueAtPercentile(99) / 1000.0;
+    }
+
+    public boolean isSaturated(LoadTestConfig config) {
+        return p99Millis() > config.getSloP99Ms()
+                || errorRate() > config.getSloMaxErrorRate()
+                || achievedRps() < targetRps * config.getSloMinThroughputRatio();
+    }
+} 
\ No newline at end of file
@@ -87,6 +87,8 @@ goto start_all
 
 :start_all
 echo.
+call :install_common
+if %ERRORLEVEL% neq 0 goto :error
 echo Starting all backend services...
 echo.
 echo To stop the services, close their terminal windows.
@@ -144,6 +146,8 @@ goto menu
 
 :start_auth
 echo.
+call :install_common
+if %ERRORLEVEL% neq 0 goto :error
 echo Starting Auth Service...
 start "Auth Service" cmd /k "cd auth-service && mvn spring-boot:run"
 echo.
@@ -156,6 +160,8 @@ goto menu
 
 :start_customer
 echo.
+call :install_common
+if %ERRORLEVEL% neq 0 goto :error
 echo Starting Customer Service...
 start "Customer Service" cmd /k "cd customer-service && mvn spring-boot:run"
 echo.
@@ -168,6 +174,8 @@ goto menu
 
 :start_gateway
 echo.
+call :install_common
+if %ERRORLEVEL% neq 0 goto :error
 echo Starting API Gateway...
 start "API Gateway" cmd /k "cd api-gateway && mvn spring-boot:run"
 echo.
@@ -178,6 +186,18 @@ pause >nul
 cls
 goto menu
 
+REM The services depend on com.crmsystem:common, which spring-boot:run inside a service directory
+REM can only resolve from the local repository, so install it (and the parent pom) first
+:install_common
+echo Installing the common module...
+call mvn -q install -pl .,common -DskipTests
+if %ERRORLEVEL% neq 0 (
+  echo.
+  echo Build of the common module failed! Please check the errors above.
+  exit /b 1
+)
+exit /b 0
+
 :error
 echo.
 echo Press any key to exit...